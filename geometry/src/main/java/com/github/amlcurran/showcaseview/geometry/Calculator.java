@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+/**
+ * Calculates various items for use with ShowcaseView
+ */
+public class Calculator {
+
+    public static final int INDEX_X = 0;
+    public static final int INDEX_Y = 1;
+
+    private Calculator() {
+    }
+
+    /**
+     * Finds the point a view is showcased at, its centre.
+     *
+     * @param out receives the x and y of the point
+     */
+    public static void getShowcasePoint(int left, int top, int width, int height, int[] out) {
+        out[INDEX_X] = left + width / 2;
+        out[INDEX_Y] = top + height / 2;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the bounds of the showcased targets, so a touch only needs testing against
+ * the targets whose bounds share its cell. The cells are at least the size of the largest target,
+ * so each target lands in at most four cells, and a touch is tested against a handful of targets
+ * however many there are.
+ * <p/>
+ * The cells are stored flattened: the targets in cell c are entries cellStarts[c] up to
+ * cellStarts[c + 1].
+ */
+public class HitTestGrid {
+
+    // Bounds the number of cells when small targets are spread far apart
+    private static final int MAX_CELLS_PER_SIDE = 64;
+
+    private int originX;
+    private int originY;
+    private int cellSize = 1;
+    private int columns;
+    private int rows;
+    private int[] cellStarts = new int[1];
+    private int[] entries = new int[0];
+
+    /**
+     * Rebuild the grid.
+     *
+     * @param rects the left, top, right and bottom of each target, in groups of four
+     * @param count the number of targets in rects
+     */
+    public void build(int[] rects, int count) {
+        if (count == 0) {
+            columns = 0;
+            rows = 0;
+            return;
+        }
+
+        int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE, bottom = Integer.MIN_VALUE;
+        int largest = 1;
+        for (int i = 0; i < count; i++) {
+            left = Math.min(left, rects[i * 4]);
+            top = Math.min(top, rects[i * 4 + 1]);
+            right = Math.max(right, rects[i * 4 + 2]);
+            bottom = Math.max(bottom, rects[i * 4 + 3]);
+            largest = Math.max(largest, Math.max(rects[i * 4 + 2] - rects[i * 4], rects[i * 4 + 3] - rects[i * 4 + 1]));
+        }
+        originX = left;
+        originY = top;
+        cellSize = Math.max(largest, Math.max(right - left, bottom - top) / MAX_CELLS_PER_SIDE + 1);
+        columns = (right - left) / cellSize + 1;
+        rows = (bottom - top) / cellSize + 1;
+
+        // Count the targets in each cell, then turn the counts into where each cell ends
+        int cellCount = columns * rows;
+        if (cellStarts.length < cellCount + 1) {
+            cellStarts = new int[cellCount + 1];
+        } else {
+            Arrays.fill(cellStarts, 0, cellCount + 1, 0);
+        }
+        int entryCount = 0;
+        for (int i = 0; i < count; i++) {
+            for (int row = rowOf(rects[i * 4 + 1]); row <= rowOf(rects[i * 4 + 3]); row++) {
+                for (int column = columnOf(rects[i * 4]); column <= columnOf(rects[i * 4 + 2]); column++) {
+                    cellStarts[row * columns + column]++;
+                    entryCount++;
+                }
+            }
+        }
+        for (int cell = 1; cell < cellCount; cell++) {
+            cellStarts[cell] += cellStarts[cell - 1];
+        }
+        cellStarts[cellCount] = entryCount;
+
+        if (entries.length < entryCount) {
+            entries = new int[entryCount];
+        }
+        // Filling each cell from its end moves its end back to its start, and leaves the targets
+        // in index order within it
+        for (int i = count - 1; i >= 0; i--) {
+            for (int row = rowOf(rects[i * 4 + 1]); row <= rowOf(rects[i * 4 + 3]); row++) {
+                for (int column = columnOf(rects[i * 4]); column <= columnOf(rects[i * 4 + 2]); column++) {
+                    entries[--cellStarts[row * columns + column]] = i;
+                }
+            }
+        }
+    }
+
+    private int columnOf(int x) {
+        return (x - originX) / cellSize;
+    }
+
+    private int rowOf(int y) {
+        return (y - originY) / cellSize;
+    }
+
+    /**
+     * @return the cell containing the point, or -1 if no target is near it
+     */
+    public int cellAt(float x, float y) {
+        if (x < originX || y < originY) {
+            return -1;
+        }
+        int column = (int) (x - originX) / cellSize;
+        int row = (int) (y - originY) / cellSize;
+        if (column >= columns || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    public int cellStart(int cell) {
+        return cellStarts[cell];
+    }
+
+    public int cellEnd(int cell) {
+        return cellStarts[cell + 1];
+    }
+
+    /**
+     * @return the index of the target at a position between a cell's start and end
+     */
+    public int entry(int position) {
+        return entries[position];
+    }
+}
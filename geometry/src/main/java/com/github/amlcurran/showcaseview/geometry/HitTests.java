@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+/**
+ * Whether a point is inside of the shapes showcases are drawn as. Distances are compared
+ * squared, so there's no square root.
+ */
+public class HitTests {
+
+    private HitTests() {
+    }
+
+    public static boolean isInsideCircle(float x, float y, float centreX, float centreY, float radius) {
+        float dx = x - centreX;
+        float dy = y - centreY;
+        return dx * dx + dy * dy <= radius * radius;
+    }
+
+    public static boolean isInsideOval(float x, float y, float left, float top, float right, float bottom) {
+        if (x < left || x > right || y < top || y > bottom) {
+            return false;
+        }
+        float radiusX = (right - left) / 2;
+        float radiusY = (bottom - top) / 2;
+        float dx = (x - left - radiusX) / radiusX;
+        float dy = (y - top - radiusY) / radiusY;
+        return dx * dx + dy * dy <= 1;
+    }
+
+    public static boolean isInsideRoundRect(float x, float y, float left, float top, float right, float bottom,
+                                            float cornerRadius) {
+        if (x < left || x > right || y < top || y > bottom) {
+            return false;
+        }
+        cornerRadius = clampCornerRadius(left, top, right, bottom, cornerRadius);
+        // Only the corners of a rounded rectangle need more than the bounds check
+        float cornerX = x < left + cornerRadius ? left + cornerRadius : x > right - cornerRadius ? right - cornerRadius : x;
+        float cornerY = y < top + cornerRadius ? top + cornerRadius : y > bottom - cornerRadius ? bottom - cornerRadius : y;
+        return isInsideCircle(x, y, cornerX, cornerY, cornerRadius);
+    }
+
+    /**
+     * The corner radius a rounded rectangle is actually drawn with: corners can't overlap, so
+     * the radius is at most half of the shorter side
+     */
+    public static float clampCornerRadius(float left, float top, float right, float bottom, float cornerRadius) {
+        return Math.min(cornerRadius, Math.min(right - left, bottom - top) / 2);
+    }
+}
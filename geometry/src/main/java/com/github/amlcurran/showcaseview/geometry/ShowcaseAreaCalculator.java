@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+/**
+ * Class responsible for calculating where the Showcase should position itself
+ */
+public class ShowcaseAreaCalculator {
+
+    // Left, top, right and bottom of each target's showcase
+    private int[] targetRects = new int[0];
+    private int targetCount;
+    private boolean hasShowcaseRect;
+    private int left, top, right, bottom;
+
+    /**
+     * Takes the area each target's showcase covers, and works out the rect covering all of them,
+     * which is used to calculate where best to place the text.
+     *
+     * @param rects the left, top, right and bottom of each target's showcase, in groups of four
+     * @param count the number of targets in rects
+     * @return true if any of the areas have changed, false otherwise.
+     */
+    public boolean calculateShowcaseRects(int[] rects, int count) {
+        if (targetRects.length < count * 4) {
+            targetRects = new int[count * 4];
+        }
+
+        boolean changed = count != targetCount;
+        for (int i = 0; i < count * 4 && !changed; i++) {
+            changed = targetRects[i] != rects[i];
+        }
+        if (!changed) {
+            return false;
+        }
+
+        System.arraycopy(rects, 0, targetRects, 0, count * 4);
+        targetCount = count;
+
+        hasShowcaseRect = count > 0;
+        if (hasShowcaseRect) {
+            left = rects[0];
+            top = rects[1];
+            right = rects[2];
+            bottom = rects[3];
+            for (int i = 1; i < count; i++) {
+                left = Math.min(left, rects[i * 4]);
+                top = Math.min(top, rects[i * 4 + 1]);
+                right = Math.max(right, rects[i * 4 + 2]);
+                bottom = Math.max(bottom, rects[i * 4 + 3]);
+            }
+        } else {
+            left = top = right = bottom = 0;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return whether there is a target, and so whether the showcase rect covers anything
+     */
+    public boolean hasShowcaseRect() {
+        return hasShowcaseRect;
+    }
+
+    public int getShowcaseLeft() {
+        return left;
+    }
+
+    public int getShowcaseTop() {
+        return top;
+    }
+
+    public int getShowcaseRight() {
+        return right;
+    }
+
+    public int getShowcaseBottom() {
+        return bottom;
+    }
+
+    public int getTargetCount() {
+        return targetCount;
+    }
+
+    /**
+     * @return the left, top, right and bottom of each target's showcase, in the first
+     * {@link #getTargetCount()} groups of four
+     */
+    public int[] getTargetRects() {
+        return targetRects;
+    }
+
+}
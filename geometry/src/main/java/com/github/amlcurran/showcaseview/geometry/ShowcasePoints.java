@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+/**
+ * The points of the showcased targets, and the bounds of those which have them, kept in
+ * insertion order in packed int arrays. Points can be moved in place, and reading them back by
+ * index doesn't allocate.
+ */
+public class ShowcasePoints {
+
+    private int[] xs = new int[4];
+    private int[] ys = new int[4];
+    // Left, top, right and bottom of each point's target, if hasBounds is set for it
+    private int[] bounds = new int[16];
+    private boolean[] hasBounds = new boolean[4];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * @return the index of the first point at these coordinates, or -1 if there isn't one
+     */
+    public int indexOf(int x, int y) {
+        for (int i = 0; i < size; i++) {
+            if (xs[i] == x && ys[i] == y) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add a point after the existing ones.
+     *
+     * @return the index of the new point
+     */
+    public int add(int x, int y) {
+        if (size == xs.length) {
+            int capacity = size * 2;
+            xs = copyOf(xs, capacity);
+            ys = copyOf(ys, capacity);
+            bounds = copyOf(bounds, capacity * 4);
+            boolean[] newHasBounds = new boolean[capacity];
+            System.arraycopy(hasBounds, 0, newHasBounds, 0, size);
+            hasBounds = newHasBounds;
+        }
+        xs[size] = x;
+        ys[size] = y;
+        hasBounds[size] = false;
+        return size++;
+    }
+
+    /**
+     * Move a point, and its bounds with it.
+     */
+    public void set(int index, int x, int y) {
+        if (hasBounds[index]) {
+            int dx = x - xs[index];
+            int dy = y - ys[index];
+            bounds[index * 4] += dx;
+            bounds[index * 4 + 1] += dy;
+            bounds[index * 4 + 2] += dx;
+            bounds[index * 4 + 3] += dy;
+        }
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    public void setBounds(int index, int left, int top, int right, int bottom) {
+        bounds[index * 4] = left;
+        bounds[index * 4 + 1] = top;
+        bounds[index * 4 + 2] = right;
+        bounds[index * 4 + 3] = bottom;
+        hasBounds[index] = true;
+    }
+
+    /**
+     * Forget a point's bounds, so it is showcased at the default size around the point
+     */
+    public void clearBounds(int index) {
+        hasBounds[index] = false;
+    }
+
+    public boolean hasBounds(int index) {
+        return hasBounds[index];
+    }
+
+    public int getLeft(int index) {
+        return bounds[index * 4];
+    }
+
+    public int getTop(int index) {
+        return bounds[index * 4 + 1];
+    }
+
+    public int getRight(int index) {
+        return bounds[index * 4 + 2];
+    }
+
+    public int getBottom(int index) {
+        return bounds[index * 4 + 3];
+    }
+
+    /**
+     * Remove every point. The arrays are kept for the points added next.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private static int[] copyOf(int[] array, int length) {
+        int[] copy = new int[length];
+        System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+        return copy;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+/**
+ * Chooses where the text goes, from the regions left of, above, right of and below the
+ * showcase. A region only wins outright if the text, laid out at that region's width, is short
+ * enough to fit in it. Between regions that all fit, or all don't, the one that fits best, then
+ * the largest, wins, and exact ties go to the lowest region constant so the choice never
+ * flickers. Areas are worked out as longs, as a large screen's area can overflow an int.
+ * <p/>
+ * The choice is kept until the showcase rect, canvas size or text change, and heights are
+ * remembered per width, so running this on every frame of a target move is cheap.
+ */
+public class TextPlacement {
+
+    public static final int UNDEFINED = -1;
+    public static final int LEFT_OF_SHOWCASE = 0;
+    public static final int ABOVE_SHOWCASE = 1;
+    public static final int RIGHT_OF_SHOWCASE = 2;
+    public static final int BELOW_SHOWCASE = 3;
+
+    public static final int INDEX_TEXT_START_X = 0;
+    public static final int INDEX_TEXT_START_Y = 1;
+    public static final int INDEX_TEXT_WIDTH = 2;
+    public static final int INDEX_AVAILABLE_HEIGHT = 3;
+
+    private static final int REGION_COUNT = 4;
+    private static final int MEASURED_WIDTH_COUNT = 8;
+
+    public interface TextMeasurer {
+
+        /**
+         * @return the height of all of the text when laid out at the given width
+         */
+        int measureTextHeight(int width);
+
+    }
+
+    private final float padding;
+    private final float actionBarOffset;
+    private final TextMeasurer measurer;
+    private final float[] candidate = new float[4];
+    private final float[] placement = new float[4];
+
+    // The inputs of the last placement, which is reused until one of them changes
+    private final int[] lastInputs = new int[9];
+    private boolean hasPlacement;
+    private int placedRegion;
+
+    // Heights the text has been measured at, filled in round-robin
+    private final int[] measuredWidths = new int[MEASURED_WIDTH_COUNT];
+    private final int[] measuredHeights = new int[MEASURED_WIDTH_COUNT];
+    private int measuredCount;
+    private int nextMeasuredSlot;
+    private int measuredTextGeneration;
+
+    public TextPlacement(float padding, float actionBarOffset, TextMeasurer measurer) {
+        this.padding = padding;
+        this.actionBarOffset = actionBarOffset;
+        this.measurer = measurer;
+    }
+
+    /**
+     * @param textGeneration changes whenever the text or its paints change
+     * @param forcedRegion   the region to use, or {@link #UNDEFINED} to choose one
+     * @param out            receives the x, y, width and available height of the text
+     * @return the chosen region
+     */
+    public int place(int left, int top, int right, int bottom, int canvasW, int canvasH,
+              boolean centreText, int forcedRegion, int textGeneration, float[] out) {
+        int centre = centreText ? 1 : 0;
+        if (!hasPlacement || haveInputsChanged(left, top, right, bottom, canvasW, canvasH,
+                centre, forcedRegion, textGeneration)) {
+            forgetHeightsIfTextChanged(textGeneration);
+            placedRegion = forcedRegion != UNDEFINED ? forcedRegion :
+                    chooseRegion(left, top, right, bottom, canvasW, canvasH, centreText);
+            calculateCandidate(placedRegion, left, top, right, bottom, canvasW, canvasH, centreText);
+            System.arraycopy(candidate, 0, placement, 0, placement.length);
+            storeInputs(left, top, right, bottom, canvasW, canvasH, centre, forcedRegion, textGeneration);
+            hasPlacement = true;
+        }
+        System.arraycopy(placement, 0, out, 0, placement.length);
+        return placedRegion;
+    }
+
+    /**
+     * The widths the text could be laid out at, one for each region it could be placed in, so
+     * they can be measured ahead of time and passed back with {@link #putTextHeight}.
+     *
+     * @param out receives the distinct widths, and needs room for four
+     * @return the number of widths in out
+     */
+    public int getCandidateWidths(int left, int top, int right, int bottom, int canvasW, int canvasH,
+                                  boolean centreText, int forcedRegion, int[] out) {
+        int count = 0;
+        for (int region = 0; region < REGION_COUNT; region++) {
+            if (forcedRegion != UNDEFINED && region != forcedRegion) {
+                continue;
+            }
+            calculateCandidate(region, left, top, right, bottom, canvasW, canvasH, centreText);
+            int width = (int) candidate[INDEX_TEXT_WIDTH];
+            boolean seen = width <= 0;
+            for (int i = 0; i < count && !seen; i++) {
+                seen = out[i] == width;
+            }
+            if (!seen) {
+                out[count++] = width;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remember the height of the text at a width, measured elsewhere, so that placing the text
+     * doesn't need to measure it again.
+     *
+     * @param textGeneration the text generation the height was measured for
+     */
+    public void putTextHeight(int textGeneration, int width, int height) {
+        forgetHeightsIfTextChanged(textGeneration);
+        for (int i = 0; i < measuredCount; i++) {
+            if (measuredWidths[i] == width) {
+                measuredHeights[i] = height;
+                return;
+            }
+        }
+        storeTextHeight(width, height);
+    }
+
+    private void forgetHeightsIfTextChanged(int textGeneration) {
+        if (textGeneration != measuredTextGeneration) {
+            // Slots are searched from the start, so writing has to restart there too or a
+            // height measured for the old text could be found again
+            measuredCount = 0;
+            nextMeasuredSlot = 0;
+            measuredTextGeneration = textGeneration;
+        }
+    }
+
+    private int chooseRegion(int left, int top, int right, int bottom, int canvasW, int canvasH,
+                             boolean centreText) {
+        int best = -1;
+        boolean bestFits = false;
+        long bestOverflow = 0;
+        long bestArea = 0;
+        for (int region = 0; region < REGION_COUNT; region++) {
+            calculateCandidate(region, left, top, right, bottom, canvasW, canvasH, centreText);
+            int width = (int) candidate[INDEX_TEXT_WIDTH];
+            long overflow;
+            if (width <= 0) {
+                overflow = Long.MAX_VALUE;
+            } else {
+                overflow = (long) measureTextHeight(width) - (long) candidate[INDEX_AVAILABLE_HEIGHT];
+            }
+            boolean fits = overflow <= 0;
+            long area = regionArea(region, left, top, right, bottom, canvasW, canvasH);
+
+            boolean better;
+            if (best == -1 || fits != bestFits) {
+                better = best == -1 || fits;
+            } else if (fits) {
+                better = area > bestArea;
+            } else {
+                better = overflow < bestOverflow || (overflow == bestOverflow && area > bestArea);
+            }
+            if (better) {
+                best = region;
+                bestFits = fits;
+                bestOverflow = overflow;
+                bestArea = area;
+            }
+        }
+        return best;
+    }
+
+    private static long regionArea(int region, int left, int top, int right, int bottom, int canvasW, int canvasH) {
+        switch (region) {
+            case LEFT_OF_SHOWCASE:
+                return (long) left * canvasH;
+            case ABOVE_SHOWCASE:
+                return (long) top * canvasW;
+            case RIGHT_OF_SHOWCASE:
+                return (long) (canvasW - right) * canvasH;
+            default:
+                return (long) (canvasH - bottom) * canvasW;
+        }
+    }
+
+    /**
+     * Fills in the candidate with where the text starts in a region, how wide it can be and how
+     * much height it has before it runs into the showcase or off the screen.
+     */
+    private void calculateCandidate(int region, int left, int top, int right, int bottom,
+                                    int canvasW, int canvasH, boolean centreText) {
+        float x, y, width, bottomEdge;
+        switch (region) {
+            case LEFT_OF_SHOWCASE:
+                x = padding;
+                y = padding;
+                width = left - 2 * padding;
+                bottomEdge = canvasH - padding;
+                break;
+            case ABOVE_SHOWCASE:
+                x = padding;
+                y = padding + actionBarOffset;
+                width = canvasW - 2 * padding;
+                bottomEdge = top - padding;
+                break;
+            case RIGHT_OF_SHOWCASE:
+                x = right + padding;
+                y = padding;
+                width = (canvasW - right) - 2 * padding;
+                bottomEdge = canvasH - padding;
+                break;
+            default:
+                x = padding;
+                y = bottom + padding;
+                width = canvasW - 2 * padding;
+                bottomEdge = canvasH - padding;
+                break;
+        }
+        boolean beside = region == LEFT_OF_SHOWCASE || region == RIGHT_OF_SHOWCASE;
+        if (centreText) {
+            if (beside) {
+                y += canvasH / 4;
+            } else {
+                width /= 2;
+                x += canvasW / 4;
+            }
+        } else if (beside) {
+            // As text is not centered add actionbar padding if the text is left or right
+            y += actionBarOffset;
+        }
+        candidate[INDEX_TEXT_START_X] = x;
+        candidate[INDEX_TEXT_START_Y] = y;
+        candidate[INDEX_TEXT_WIDTH] = width;
+        candidate[INDEX_AVAILABLE_HEIGHT] = bottomEdge - y;
+    }
+
+    private int measureTextHeight(int width) {
+        for (int i = 0; i < measuredCount; i++) {
+            if (measuredWidths[i] == width) {
+                return measuredHeights[i];
+            }
+        }
+        int height = measurer.measureTextHeight(width);
+        storeTextHeight(width, height);
+        return height;
+    }
+
+    private void storeTextHeight(int width, int height) {
+        measuredWidths[nextMeasuredSlot] = width;
+        measuredHeights[nextMeasuredSlot] = height;
+        nextMeasuredSlot = (nextMeasuredSlot + 1) % MEASURED_WIDTH_COUNT;
+        if (measuredCount < MEASURED_WIDTH_COUNT) {
+            measuredCount++;
+        }
+    }
+
+    private boolean haveInputsChanged(int left, int top, int right, int bottom, int canvasW, int canvasH,
+                                      int centre, int forcedRegion, int textGeneration) {
+        return lastInputs[0] != left || lastInputs[1] != top || lastInputs[2] != right
+                || lastInputs[3] != bottom || lastInputs[4] != canvasW || lastInputs[5] != canvasH
+                || lastInputs[6] != centre || lastInputs[7] != forcedRegion
+                || lastInputs[8] != textGeneration;
+    }
+
+    private void storeInputs(int left, int top, int right, int bottom, int canvasW, int canvasH,
+                             int centre, int forcedRegion, int textGeneration) {
+        lastInputs[0] = left;
+        lastInputs[1] = top;
+        lastInputs[2] = right;
+        lastInputs[3] = bottom;
+        lastInputs[4] = canvasW;
+        lastInputs[5] = canvasH;
+        lastInputs[6] = centre;
+        lastInputs[7] = forcedRegion;
+        lastInputs[8] = textGeneration;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts the bytes the current thread allocates, using the HotSpot thread allocation counter
+ */
+class AllocationCounter {
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    AllocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threadBean = (com.sun.management.ThreadMXBean) bean;
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            threadBean = null;
+        }
+    }
+
+    boolean isSupported() {
+        return threadBean != null;
+    }
+
+    /**
+     * Run the frame enough times to be warmed up, then run it again and count what it allocates.
+     * Reading the counter allocates nothing, so a frame path which doesn't allocate counts zero.
+     */
+    long countAllocatedBytes(Runnable frame, int frames) {
+        for (int i = 0; i < frames; i++) {
+            frame.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < frames; i++) {
+            frame.run();
+        }
+        return threadBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+}
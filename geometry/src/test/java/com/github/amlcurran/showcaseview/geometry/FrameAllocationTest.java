@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The geometry runs on every frame of a showcase animation and on every touch, so none of it
+ * should allocate once it has been set up. The build turns escape analysis off for tests, so
+ * allocations can't be optimised away here and still happen on a device.
+ */
+public class FrameAllocationTest {
+
+    private static final int FRAMES = 1000;
+    private static final int TARGETS = 16;
+
+    private final AllocationCounter counter = new AllocationCounter();
+    private final ShowcasePoints points = new ShowcasePoints();
+    private final int[] rects = new int[TARGETS * 4];
+    private int frame;
+
+    @Before
+    public void setUp() {
+        assumeTrue(counter.isSupported());
+        for (int i = 0; i < TARGETS; i++) {
+            int index = points.add(i * 60, i * 40);
+            points.setBounds(index, i * 60 - 20, i * 40 - 20, i * 60 + 20, i * 40 + 20);
+        }
+    }
+
+    @Test
+    public void movingATargetDoesNotAllocate() {
+        long allocated = counter.countAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                int last = points.size() - 1;
+                points.set(last, frame % 800, frame % 600);
+                frame++;
+                for (int i = 0; i < points.size(); i++) {
+                    readRect(i);
+                }
+            }
+        }, FRAMES);
+
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void areaAndHitTestingDoNotAllocate() {
+        final ShowcaseAreaCalculator calculator = new ShowcaseAreaCalculator();
+        final HitTestGrid grid = new HitTestGrid();
+        long allocated = counter.countAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                points.set(points.size() - 1, frame % 800, frame % 600);
+                frame++;
+                for (int i = 0; i < points.size(); i++) {
+                    readRect(i);
+                }
+                calculator.calculateShowcaseRects(rects, TARGETS);
+                grid.build(rects, TARGETS);
+                int cell = grid.cellAt(frame % 900, frame % 700);
+                if (cell != -1) {
+                    for (int i = grid.cellStart(cell); i < grid.cellEnd(cell); i++) {
+                        int target = grid.entry(i);
+                        HitTests.isInsideRoundRect(frame % 900, frame % 700, rects[target * 4],
+                                rects[target * 4 + 1], rects[target * 4 + 2], rects[target * 4 + 3], 8);
+                    }
+                }
+            }
+        }, FRAMES);
+
+        assertEquals(0, allocated);
+    }
+
+    @Test
+    public void placingTextAroundAMovingShowcaseDoesNotAllocate() {
+        final TextPlacement placement = new TextPlacement(10, 0, new TextPlacement.TextMeasurer() {
+            @Override
+            public int measureTextHeight(int width) {
+                return 40000 / Math.max(width, 1);
+            }
+        });
+        final float[] out = new float[4];
+        long allocated = counter.countAllocatedBytes(new Runnable() {
+            @Override
+            public void run() {
+                int left = frame % 700;
+                frame++;
+                placement.place(left, 300, left + 100, 400, 800, 1200, false,
+                        TextPlacement.UNDEFINED, frame / 100, out);
+            }
+        }, FRAMES);
+
+        assertEquals(0, allocated);
+    }
+
+    private void readRect(int index) {
+        rects[index * 4] = points.getLeft(index);
+        rects[index * 4 + 1] = points.getTop(index);
+        rects[index * 4 + 2] = points.getRight(index);
+        rects[index * 4 + 3] = points.getBottom(index);
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class HitTestGridTest {
+
+    private final HitTestGrid grid = new HitTestGrid();
+
+    @Test
+    public void findsOnlyTheTargetsNearAPoint() {
+        int[] rects = { 0, 0, 10, 10, 500, 500, 510, 510 };
+        grid.build(rects, 2);
+
+        assertEquals(0, targetsAt(5, 5)[0]);
+        assertEquals(1, targetsAt(505, 505)[0]);
+        assertEquals(1, targetsAt(505, 505).length);
+    }
+
+    @Test
+    public void pointsOutsideEveryTargetHaveNoCell() {
+        grid.build(new int[]{ 100, 100, 200, 200 }, 1);
+
+        assertEquals(-1, grid.cellAt(50, 150));
+        assertEquals(-1, grid.cellAt(150, 1000));
+    }
+
+    @Test
+    public void emptyGridHasNoCells() {
+        grid.build(new int[]{ 100, 100, 200, 200 }, 1);
+        grid.build(new int[0], 0);
+
+        assertEquals(-1, grid.cellAt(150, 150));
+    }
+
+    @Test
+    public void everyTargetContainingAPointIsInItsCell() {
+        Random random = new Random(42);
+        int count = 200;
+        int[] rects = new int[count * 4];
+        for (int i = 0; i < count; i++) {
+            int x = random.nextInt(2000);
+            int y = random.nextInt(2000);
+            int size = 10 + random.nextInt(90);
+            rects[i * 4] = x;
+            rects[i * 4 + 1] = y;
+            rects[i * 4 + 2] = x + size;
+            rects[i * 4 + 3] = y + size;
+        }
+        grid.build(rects, count);
+
+        for (int probe = 0; probe < 1000; probe++) {
+            int x = random.nextInt(2100);
+            int y = random.nextInt(2100);
+            int[] candidates = grid.cellAt(x, y) == -1 ? new int[0] : targetsAt(x, y);
+            for (int i = 0; i < count; i++) {
+                boolean contains = x >= rects[i * 4] && x <= rects[i * 4 + 2]
+                        && y >= rects[i * 4 + 1] && y <= rects[i * 4 + 3];
+                if (contains) {
+                    assertEquals("target " + i + " missing at " + x + "," + y, true, has(candidates, i));
+                }
+            }
+        }
+    }
+
+    private int[] targetsAt(float x, float y) {
+        int cell = grid.cellAt(x, y);
+        int[] targets = new int[grid.cellEnd(cell) - grid.cellStart(cell)];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = grid.entry(grid.cellStart(cell) + i);
+        }
+        return targets;
+    }
+
+    private static boolean has(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
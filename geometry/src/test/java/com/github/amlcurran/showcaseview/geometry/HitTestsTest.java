@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HitTestsTest {
+
+    @Test
+    public void circleIncludesItsEdge() {
+        assertTrue(HitTests.isInsideCircle(110, 100, 100, 100, 10));
+        assertFalse(HitTests.isInsideCircle(108, 108, 100, 100, 10));
+    }
+
+    @Test
+    public void ovalExcludesTheCornersOfItsBounds() {
+        assertTrue(HitTests.isInsideOval(50, 25, 0, 0, 100, 50));
+        assertTrue(HitTests.isInsideOval(95, 25, 0, 0, 100, 50));
+        assertFalse(HitTests.isInsideOval(95, 5, 0, 0, 100, 50));
+        assertFalse(HitTests.isInsideOval(101, 25, 0, 0, 100, 50));
+    }
+
+    @Test
+    public void roundRectOnlyCutsItsCorners() {
+        assertTrue(HitTests.isInsideRoundRect(50, 1, 0, 0, 100, 50, 10));
+        assertTrue(HitTests.isInsideRoundRect(5, 5, 0, 0, 100, 50, 10));
+        assertFalse(HitTests.isInsideRoundRect(1, 1, 0, 0, 100, 50, 10));
+        assertFalse(HitTests.isInsideRoundRect(99, 49, 0, 0, 100, 50, 10));
+    }
+
+    @Test
+    public void roundRectSmallerThanItsCornersIsACircle() {
+        // A 10px target with a 16px corner radius draws as a circle of radius 5
+        assertTrue(HitTests.isInsideRoundRect(5, 5, 0, 0, 10, 10, 16));
+        assertTrue(HitTests.isInsideRoundRect(5, 0, 0, 0, 10, 10, 16));
+        assertTrue(HitTests.isInsideRoundRect(1.5f, 1.5f, 0, 0, 10, 10, 16));
+        assertFalse(HitTests.isInsideRoundRect(1, 1, 0, 0, 10, 10, 16));
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShowcaseAreaCalculatorTest {
+
+    private final ShowcaseAreaCalculator calculator = new ShowcaseAreaCalculator();
+
+    @Test
+    public void showcaseRectIsTheUnionOfTheTargets() {
+        calculator.calculateShowcaseRects(new int[]{ 10, 20, 30, 40, 50, 5, 60, 25 }, 2);
+
+        assertTrue(calculator.hasShowcaseRect());
+        assertEquals(10, calculator.getShowcaseLeft());
+        assertEquals(5, calculator.getShowcaseTop());
+        assertEquals(60, calculator.getShowcaseRight());
+        assertEquals(40, calculator.getShowcaseBottom());
+    }
+
+    @Test
+    public void onlyReportsAChangeWhenTheRectsChange() {
+        int[] rects = { 10, 20, 30, 40 };
+
+        assertTrue(calculator.calculateShowcaseRects(rects, 1));
+        assertFalse(calculator.calculateShowcaseRects(new int[]{ 10, 20, 30, 40 }, 1));
+
+        rects[2] = 35;
+        assertTrue(calculator.calculateShowcaseRects(rects, 1));
+        assertEquals(35, calculator.getShowcaseRight());
+    }
+
+    @Test
+    public void noTargetsHasNoShowcaseRect() {
+        calculator.calculateShowcaseRects(new int[]{ 10, 20, 30, 40 }, 1);
+        calculator.calculateShowcaseRects(new int[0], 0);
+
+        assertFalse(calculator.hasShowcaseRect());
+        assertEquals(0, calculator.getTargetCount());
+    }
+
+    @Test
+    public void showcasePointIsTheCentreOfTheView() {
+        int[] point = new int[2];
+        Calculator.getShowcasePoint(10, 20, 100, 50, point);
+
+        assertEquals(60, point[Calculator.INDEX_X]);
+        assertEquals(45, point[Calculator.INDEX_Y]);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShowcasePointsTest {
+
+    private final ShowcasePoints points = new ShowcasePoints();
+
+    @Test
+    public void pointsKeepTheirInsertionOrder() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, points.add(i * 10, i * 20));
+        }
+
+        assertEquals(10, points.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 10, points.getX(i));
+            assertEquals(i * 20, points.getY(i));
+        }
+    }
+
+    @Test
+    public void indexOfFindsTheFirstMatchingPoint() {
+        points.add(1, 2);
+        points.add(3, 4);
+
+        assertEquals(1, points.indexOf(3, 4));
+        assertEquals(-1, points.indexOf(4, 3));
+    }
+
+    @Test
+    public void movingAPointMovesItsBounds() {
+        int index = points.add(50, 50);
+        points.setBounds(index, 40, 30, 60, 70);
+
+        points.set(index, 150, 60);
+
+        assertEquals(150, points.getX(index));
+        assertEquals(140, points.getLeft(index));
+        assertEquals(40, points.getTop(index));
+        assertEquals(160, points.getRight(index));
+        assertEquals(80, points.getBottom(index));
+    }
+
+    @Test
+    public void clearingBoundsLeavesThePoint() {
+        int index = points.add(50, 50);
+        points.setBounds(index, 40, 30, 60, 70);
+
+        points.clearBounds(index);
+        points.set(index, 60, 60);
+
+        assertFalse(points.hasBounds(index));
+        assertEquals(60, points.getX(index));
+    }
+
+    @Test
+    public void boundsAreKeptWhenTheArraysGrow() {
+        points.add(0, 0);
+        points.setBounds(0, 1, 2, 3, 4);
+        for (int i = 0; i < 8; i++) {
+            points.add(i, i);
+        }
+
+        assertTrue(points.hasBounds(0));
+        assertEquals(4, points.getBottom(0));
+        assertFalse(points.hasBounds(8));
+    }
+
+    @Test
+    public void clearedPointsDoNotKeepTheirBounds() {
+        points.add(0, 0);
+        points.setBounds(0, 1, 2, 3, 4);
+        points.clear();
+
+        assertEquals(0, points.add(5, 5));
+        assertFalse(points.hasBounds(0));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.geometry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TextPlacementTest {
+
+    // A showcase in the middle of a 1000px square leaves 300px wide regions at either side
+    // and 1000px wide, 400px tall regions above and below it
+    private static final int LEFT = 300;
+    private static final int TOP = 400;
+    private static final int RIGHT = 700;
+    private static final int BOTTOM = 600;
+    private static final int CANVAS = 1000;
+
+    private final FakeMeasurer measurer = new FakeMeasurer();
+    private final TextPlacement placement = new TextPlacement(0, 0, measurer);
+    private final float[] out = new float[4];
+
+    @Test
+    public void largestRegionWinsWhenTheTextFitsEverywhere() {
+        measurer.setHeights(100, 100);
+
+        assertEquals(TextPlacement.ABOVE_SHOWCASE, place(1));
+    }
+
+    @Test
+    public void regionTheTextFitsInWinsOverLargerOnes() {
+        measurer.setHeights(200, 500);
+
+        assertEquals(TextPlacement.LEFT_OF_SHOWCASE, place(1));
+    }
+
+    @Test
+    public void newTextIsMeasuredAgainAtEveryWidth() {
+        measurer.setHeights(100, 100);
+        place(1);
+
+        measurer.setHeights(200, 500);
+
+        assertEquals(TextPlacement.LEFT_OF_SHOWCASE, place(2));
+    }
+
+    @Test
+    public void sameInputsReuseThePlacementWithoutMeasuring() {
+        measurer.setHeights(100, 100);
+        place(1);
+        int measured = measurer.calls;
+
+        place(1);
+
+        assertEquals(measured, measurer.calls);
+    }
+
+    @Test
+    public void forcedRegionIsUsed() {
+        measurer.setHeights(100, 100);
+
+        int region = placement.place(LEFT, TOP, RIGHT, BOTTOM, CANVAS, CANVAS, false,
+                TextPlacement.RIGHT_OF_SHOWCASE, 1, out);
+
+        assertEquals(TextPlacement.RIGHT_OF_SHOWCASE, region);
+        assertEquals(RIGHT, out[TextPlacement.INDEX_TEXT_START_X], 0f);
+        assertEquals(CANVAS - RIGHT, out[TextPlacement.INDEX_TEXT_WIDTH], 0f);
+    }
+
+    @Test
+    public void candidateWidthsAreTheDistinctRegionWidths() {
+        int[] widths = new int[4];
+
+        int count = placement.getCandidateWidths(LEFT, TOP, RIGHT, BOTTOM, CANVAS, CANVAS, false,
+                TextPlacement.UNDEFINED, widths);
+
+        assertEquals(2, count);
+        assertEquals(LEFT, widths[0]);
+        assertEquals(CANVAS, widths[1]);
+    }
+
+    @Test
+    public void heightsPutAheadOfTimeAreNotMeasuredAgain() {
+        placement.putTextHeight(1, LEFT, 200);
+        placement.putTextHeight(1, CANVAS, 500);
+
+        assertEquals(TextPlacement.LEFT_OF_SHOWCASE, place(1));
+        assertEquals(0, measurer.calls);
+    }
+
+    @Test
+    public void heightsPutForOlderTextAreMeasuredAgain() {
+        placement.putTextHeight(1, LEFT, 100);
+        placement.putTextHeight(1, CANVAS, 100);
+        measurer.setHeights(200, 500);
+
+        assertEquals(TextPlacement.LEFT_OF_SHOWCASE, place(2));
+    }
+
+    private int place(int textGeneration) {
+        return placement.place(LEFT, TOP, RIGHT, BOTTOM, CANVAS, CANVAS, false,
+                TextPlacement.UNDEFINED, textGeneration, out);
+    }
+
+    private static class FakeMeasurer implements TextPlacement.TextMeasurer {
+
+        private int narrowHeight;
+        private int wideHeight;
+        private int calls;
+
+        void setHeights(int narrowHeight, int wideHeight) {
+            this.narrowHeight = narrowHeight;
+            this.wideHeight = wideHeight;
+        }
+
+        @Override
+        public int measureTextHeight(int width) {
+            calls++;
+            return width < CANVAS ? narrowHeight : wideHeight;
+        }
+    }
+
+}
@@ -17,6 +17,7 @@
 package com.github.amlcurran.showcaseview;
 
 import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.annotation.TargetApi;
@@ -41,6 +42,7 @@ class AnimatorAnimationFactory implements AnimationFactory {
     @Override
     public void fadeInView(View target, long duration, final AnimationStartListener listener) {
         ObjectAnimator oa = ObjectAnimator.ofFloat(target, ALPHA, INVISIBLE, VISIBLE);
+        oa.addListener(new HardwareLayerListener(target));
         oa.setDuration(duration).addListener(new Animator.AnimatorListener() {
             @Override
             public void onAnimationStart(Animator animator) {
@@ -65,6 +67,7 @@ class AnimatorAnimationFactory implements AnimationFactory {
     @Override
     public void fadeOutView(View target, long duration, final AnimationEndListener listener) {
         ObjectAnimator oa = ObjectAnimator.ofFloat(target, ALPHA, INVISIBLE);
+        oa.addListener(new HardwareLayerListener(target));
         oa.setDuration(duration).addListener(new Animator.AnimatorListener() {
             @Override
             public void onAnimationStart(Animator animator) {
@@ -96,4 +99,49 @@ class AnimatorAnimationFactory implements AnimationFactory {
         set.start();
     }
 
+    /**
+     * Renders the view into a hardware layer while an alpha or translation animation runs, so
+     * each frame only re-blends the layer instead of redrawing the showcase. This isn't used
+     * when moving the showcase, as the overlay changes on every frame of a move.
+     * <p/>
+     * Added before any other listener, so the layer is gone by the time they hear of the end.
+     */
+    private static class HardwareLayerListener extends AnimatorListenerAdapter {
+
+        private final View view;
+        private int previousLayerType;
+        private boolean hasLayer;
+
+        HardwareLayerListener(View view) {
+            this.view = view;
+        }
+
+        @Override
+        public void onAnimationStart(Animator animation) {
+            if (!hasLayer) {
+                previousLayerType = view.getLayerType();
+                view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+                hasLayer = true;
+            }
+        }
+
+        @Override
+        public void onAnimationCancel(Animator animation) {
+            removeLayer();
+        }
+
+        @Override
+        public void onAnimationEnd(Animator animation) {
+            removeLayer();
+        }
+
+        private void removeLayer() {
+            // A cancelled animation also ends, so this can be called twice
+            if (hasLayer) {
+                view.setLayerType(previousLayerType, null);
+                hasLayer = false;
+            }
+        }
+    }
+
 }
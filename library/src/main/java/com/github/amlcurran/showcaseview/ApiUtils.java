@@ -30,6 +30,10 @@ public class ApiUtils {
         return isCompatWith(Build.VERSION_CODES.HONEYCOMB);
     }
 
+    public boolean isCompatWithKitKat() {
+        return isCompatWith(Build.VERSION_CODES.KITKAT);
+    }
+
     @TargetApi(14)
     public void setFitsSystemWindowsCompat(View view) {
         if (isCompatWith(Build.VERSION_CODES.ICE_CREAM_SANDWICH)) {
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+/**
+ * A {@link ShowcaseDrawer} which can draw all of the showcases into its buffer at once, rather
+ * than being called once per showcase. This lets it merge overlapping showcases and skip those
+ * which are off-screen.
+ */
+public interface BatchShowcaseDrawer extends ShowcaseDrawer {
+
+    /**
+     * Draw every showcase into the buffer
+     *
+     * @param points          the showcase points, in the ShowcaseView's coordinates
+     * @param bufferScale     the size of the buffer relative to the ShowcaseView, which points and
+     *                        sizes must be multiplied by
+     * @param scaleMultiplier the scale of the showcases
+     */
+    void drawShowcases(Bitmap buffer, ShowcasePoints points, float bufferScale, float scaleMultiplier);
+
+}
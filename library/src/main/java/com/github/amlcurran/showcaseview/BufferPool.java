@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A process-wide pool of the screen-sized buffers which ShowcaseViews draw into. When one
+ * ShowcaseView is hidden and the next is built straight away, the new one picks up the old
+ * one's buffer instead of allocating another.
+ */
+class BufferPool {
+
+    private static BufferPool instance;
+
+    private final List<Bitmap> buffers = new ArrayList<>();
+    private final long maxRetainedBytes;
+    private long retainedBytes;
+
+    private BufferPool() {
+        maxRetainedBytes = Runtime.getRuntime().maxMemory() / 8;
+    }
+
+    static synchronized BufferPool getInstance(Context context) {
+        if (instance == null) {
+            instance = new BufferPool();
+            if (new ApiUtils().isCompatWith(Build.VERSION_CODES.ICE_CREAM_SANDWICH)) {
+                context.getApplicationContext().registerComponentCallbacks(new TrimMemoryCallbacks(instance));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get a buffer of the given size and config, reusing a pooled one if possible. The contents
+     * of a reused buffer are undefined, so it must be erased before use
+     */
+    synchronized Bitmap acquire(int width, int height, Bitmap.Config config) {
+        for (int i = 0; i < buffers.size(); i++) {
+            Bitmap buffer = buffers.get(i);
+            if (buffer.getWidth() == width && buffer.getHeight() == height && buffer.getConfig() == config) {
+                buffers.remove(i);
+                retainedBytes -= sizeOf(buffer);
+                return buffer;
+            }
+        }
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Return a buffer to the pool. The caller must not use the buffer afterwards
+     */
+    synchronized void release(Bitmap buffer) {
+        if (buffer.isRecycled()) {
+            return;
+        }
+        long size = sizeOf(buffer);
+        if (size > maxRetainedBytes) {
+            buffer.recycle();
+            return;
+        }
+        buffers.add(buffer);
+        retainedBytes += size;
+        // Evict the oldest buffers until we are back under the cap
+        while (retainedBytes > maxRetainedBytes) {
+            Bitmap evicted = buffers.remove(0);
+            retainedBytes -= sizeOf(evicted);
+            evicted.recycle();
+        }
+    }
+
+    synchronized void clear() {
+        for (int i = 0; i < buffers.size(); i++) {
+            buffers.get(i).recycle();
+        }
+        buffers.clear();
+        retainedBytes = 0;
+    }
+
+    private static long sizeOf(Bitmap buffer) {
+        return (long) buffer.getRowBytes() * buffer.getHeight();
+    }
+
+    /**
+     * Kept separate from BufferPool, as ComponentCallbacks2 doesn't exist before ICS
+     */
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    private static class TrimMemoryCallbacks implements ComponentCallbacks2 {
+
+        private final BufferPool bufferPool;
+
+        TrimMemoryCallbacks(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            // A showcase on screen would have to reallocate its buffer straight away, so the
+            // pool is only given up once the UI is hidden or memory is critically low
+            if (level >= TRIM_MEMORY_UI_HIDDEN || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+                bufferPool.clear();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            bufferPool.clear();
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.annotation.TargetApi;
+import android.graphics.Point;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewAnimationUtils;
+import android.view.ViewTreeObserver;
+import android.view.animation.AccelerateDecelerateInterpolator;
+
+/**
+ * Reveals and hides the ShowcaseView with a circle centred on its first target. Both the reveal
+ * and the hardware layer backed fades used when there is no target to centre on are run by the
+ * RenderThread, so they keep playing when the UI thread is busy, such as during activity startup.
+ */
+@TargetApi(Build.VERSION_CODES.LOLLIPOP)
+class CircularRevealAnimationFactory implements AnimationFactory {
+
+    private static final float INVISIBLE = 0f;
+    private static final float VISIBLE = 1f;
+
+    private final AccelerateDecelerateInterpolator interpolator;
+    private final AnimationFactory moveAnimationFactory;
+    private final Point revealCentre;
+
+    public CircularRevealAnimationFactory() {
+        interpolator = new AccelerateDecelerateInterpolator();
+        moveAnimationFactory = new AnimatorAnimationFactory();
+        revealCentre = new Point();
+    }
+
+    @Override
+    public void fadeInView(final View target, final long duration, final AnimationStartListener listener) {
+        target.setAlpha(VISIBLE);
+        if (!target.isAttachedToWindow()) {
+            // There is no frame coming to reveal in, so just show it
+            listener.onAnimationStart();
+            return;
+        }
+        // The reveal needs the view to be laid out, so wait until it's about to be drawn
+        target.setVisibility(View.INVISIBLE);
+        new RevealOnPreDraw(target, duration, listener).register();
+    }
+
+    @Override
+    public void fadeOutView(View target, long duration, final AnimationEndListener listener) {
+        if (!target.isAttachedToWindow()) {
+            listener.onAnimationEnd();
+            return;
+        }
+        if (findRevealCentre(target)) {
+            Animator hide = ViewAnimationUtils.createCircularReveal(target,
+                    revealCentre.x, revealCentre.y, getRevealRadius(target), 0);
+            hide.setDuration(duration);
+            hide.setInterpolator(interpolator);
+            hide.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    listener.onAnimationEnd();
+                }
+            });
+            hide.start();
+        } else {
+            target.animate().alpha(INVISIBLE).setDuration(duration).withLayer().setListener(null)
+                    .withEndAction(new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onAnimationEnd();
+                        }
+                    });
+        }
+    }
+
+    @Override
+    public void animateTargetToPoint(ShowcaseView showcaseView, Point point) {
+        moveAnimationFactory.animateTargetToPoint(showcaseView, point);
+    }
+
+    private boolean findRevealCentre(View target) {
+        return target instanceof ShowcaseView && ((ShowcaseView) target).getFirstTargetPoint(revealCentre);
+    }
+
+    /**
+     * The distance from the centre of the reveal to the furthest corner of the view
+     */
+    private float getRevealRadius(View target) {
+        int x = Math.max(revealCentre.x, target.getWidth() - revealCentre.x);
+        int y = Math.max(revealCentre.y, target.getHeight() - revealCentre.y);
+        return (float) Math.hypot(x, y);
+    }
+
+    /**
+     * Starts the reveal on the first frame, or makes the view visible again if it's detached
+     * before that frame is drawn, so it never stays invisible
+     */
+    private class RevealOnPreDraw implements ViewTreeObserver.OnPreDrawListener, View.OnAttachStateChangeListener {
+
+        private final View target;
+        private final long duration;
+        private final AnimationStartListener listener;
+
+        RevealOnPreDraw(View target, long duration, AnimationStartListener listener) {
+            this.target = target;
+            this.duration = duration;
+            this.listener = listener;
+        }
+
+        void register() {
+            target.getViewTreeObserver().addOnPreDrawListener(this);
+            target.addOnAttachStateChangeListener(this);
+        }
+
+        private void unregister() {
+            target.getViewTreeObserver().removeOnPreDrawListener(this);
+            target.removeOnAttachStateChangeListener(this);
+        }
+
+        @Override
+        public boolean onPreDraw() {
+            unregister();
+            listener.onAnimationStart();
+            if (findRevealCentre(target)) {
+                Animator reveal = ViewAnimationUtils.createCircularReveal(target,
+                        revealCentre.x, revealCentre.y, 0, getRevealRadius(target));
+                reveal.setDuration(duration);
+                reveal.setInterpolator(interpolator);
+                reveal.start();
+            } else {
+                target.setAlpha(INVISIBLE);
+                target.animate().alpha(VISIBLE).setDuration(duration).withLayer()
+                        .setListener(new AnimatorListenerAdapter() {
+                            @Override
+                            public void onAnimationCancel(Animator animation) {
+                                target.setAlpha(VISIBLE);
+                            }
+                        });
+            }
+            // Skip this frame, so that the first one drawn is already part of the animation
+            return false;
+        }
+
+        @Override
+        public void onViewAttachedToWindow(View view) {
+        }
+
+        @Override
+        public void onViewDetachedFromWindow(View view) {
+            unregister();
+            target.setVisibility(View.VISIBLE);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the holo cling already tinted with a showcase colour, so it can be drawn as a plain
+ * bitmap rather than re-evaluating the colour filter of the drawable for every showcase. Sprites
+ * are shared between drawers, keyed by colour and screen density.
+ */
+class ClingSpriteCache {
+
+    private static final int MAX_SPRITES = 4;
+
+    private static final Map<Long, Bitmap> sprites = new LinkedHashMap<Long, Bitmap>(MAX_SPRITES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Bitmap> eldest) {
+            // Evicted sprites may still be drawn by a drawer, so leave them to the GC
+            return size() > MAX_SPRITES;
+        }
+    };
+
+    static synchronized Bitmap getSprite(Resources resources, int colour) {
+        long key = ((long) resources.getDisplayMetrics().densityDpi << 32) | (colour & 0xFFFFFFFFL);
+        Bitmap sprite = sprites.get(key);
+        if (sprite == null) {
+            sprite = createSprite(resources, colour);
+            sprites.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    private static Bitmap createSprite(Resources resources, int colour) {
+        Drawable cling = resources.getDrawable(R.drawable.cling_bleached).mutate();
+        int width = cling.getIntrinsicWidth();
+        int height = cling.getIntrinsicHeight();
+        Bitmap sprite = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        cling.setColorFilter(colour, PorterDuff.Mode.MULTIPLY);
+        cling.setBounds(0, 0, width, height);
+        cling.draw(new Canvas(sprite));
+        return sprite;
+    }
+
+}
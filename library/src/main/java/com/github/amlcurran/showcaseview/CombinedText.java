@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Paint;
+import android.text.Layout;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.text.style.AlignmentSpan;
+import android.text.style.LineHeightSpan;
+import android.text.style.MetricAffectingSpan;
+
+/**
+ * Builds the title and detail text as one spanned string, so they can be laid out and drawn as a
+ * single layout. Spans stand in for what the separate layouts did: the title's paint, each
+ * paragraph's alignment, the detail text's line spacing, and the gap between the two.
+ */
+class CombinedText {
+
+    private CombinedText() {
+    }
+
+    /**
+     * @param title              the title, with its text appearance already spanned
+     * @param details            the detail text, with its text appearance already spanned
+     * @param titlePaint         the paint the title would be drawn with; the detail text uses
+     *                           the layout's paint
+     * @param titleDetailSpacing the extra space, in pixels, below the title
+     * @param detailSpacingMult  the line spacing multiplier of the detail text
+     */
+    static CharSequence build(CharSequence title, CharSequence details, TextPaint titlePaint,
+                              Layout.Alignment titleAlignment, Layout.Alignment detailAlignment,
+                              int titleDetailSpacing, float detailSpacingMult) {
+        SpannableStringBuilder text = new SpannableStringBuilder();
+        if (!TextUtils.isEmpty(title)) {
+            // Spans added first are applied first, so the paint goes in before the title's text
+            // appearance is appended, letting the text appearance win as it would on its own
+            PaintSpan titlePaintSpan = new PaintSpan(new TextPaint(titlePaint));
+            text.setSpan(titlePaintSpan, 0, 0, Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            text.append(title);
+            if (!TextUtils.isEmpty(details)) {
+                text.append('\n');
+            }
+            int titleEnd = text.length();
+            text.setSpan(new AlignmentSpan.Standard(titleAlignment), 0, titleEnd, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            if (titleDetailSpacing != 0) {
+                text.setSpan(new SpaceBelowSpan(titleDetailSpacing), 0, titleEnd, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+            // Stop the title's paint growing into the detail text
+            text.setSpan(titlePaintSpan, 0, titleEnd, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+        if (!TextUtils.isEmpty(details)) {
+            int detailStart = text.length();
+            text.append(details);
+            text.setSpan(new AlignmentSpan.Standard(detailAlignment), detailStart, text.length(),
+                    Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            if (detailSpacingMult != 1f) {
+                text.setSpan(new LineSpacingSpan(detailSpacingMult), detailStart, text.length(),
+                        Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * Draws and measures the spanned text with a copy of a paint, as if it were the layout's own.
+     */
+    private static class PaintSpan extends MetricAffectingSpan {
+
+        private final TextPaint paint;
+
+        PaintSpan(TextPaint paint) {
+            this.paint = paint;
+        }
+
+        @Override
+        public void updateMeasureState(TextPaint textPaint) {
+            textPaint.set(paint);
+        }
+
+        @Override
+        public void updateDrawState(TextPaint textPaint) {
+            textPaint.set(paint);
+        }
+    }
+
+    /**
+     * Adds space below the last line of the spanned paragraph.
+     */
+    private static class SpaceBelowSpan implements LineHeightSpan {
+
+        private final int space;
+
+        SpaceBelowSpan(int space) {
+            this.space = space;
+        }
+
+        @Override
+        public void chooseHeight(CharSequence text, int start, int end, int spanstartv, int v,
+                                 Paint.FontMetricsInt fm) {
+            if (end >= ((Spanned) text).getSpanEnd(this)) {
+                fm.descent += space;
+                fm.bottom += space;
+            }
+        }
+    }
+
+    /**
+     * Spaces the spanned lines as a layout's spacing multiplier would.
+     */
+    private static class LineSpacingSpan implements LineHeightSpan {
+
+        private final float spacingMult;
+
+        LineSpacingSpan(float spacingMult) {
+            this.spacingMult = spacingMult;
+        }
+
+        @Override
+        public void chooseHeight(CharSequence text, int start, int end, int spanstartv, int v,
+                                 Paint.FontMetricsInt fm) {
+            int extra = (int) ((fm.descent - fm.ascent) * (spacingMult - 1) + 0.5f);
+            fm.descent += extra;
+            fm.bottom += extra;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.WindowManager;
+
+/**
+ * Times each frame while a ShowcaseView is showing, by re-posting itself to the Choreographer
+ * on every vsync. Only the running totals are kept, so it doesn't allocate per frame.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+class FrameMonitor implements Choreographer.FrameCallback {
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private final long frameIntervalNanos;
+    private boolean running;
+    private long lastFrameNanos;
+    private int frameCount;
+    private int droppedFrameCount;
+    private long totalDurationNanos;
+    private long worstFrameNanos;
+
+    FrameMonitor(Context context) {
+        WindowManager windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        float refreshRate = windowManager.getDefaultDisplay().getRefreshRate();
+        if (refreshRate < 1f) {
+            refreshRate = 60f;
+        }
+        frameIntervalNanos = (long) (NANOS_PER_SECOND / refreshRate);
+    }
+
+    void start() {
+        stop();
+        lastFrameNanos = 0;
+        frameCount = 0;
+        droppedFrameCount = 0;
+        totalDurationNanos = 0;
+        worstFrameNanos = 0;
+        running = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    void stop() {
+        if (running) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            running = false;
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    ShowcaseFrameStats getStats() {
+        return new ShowcaseFrameStats(frameCount, droppedFrameCount, totalDurationNanos,
+                worstFrameNanos, frameIntervalNanos);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!running) {
+            return;
+        }
+        if (lastFrameNanos != 0) {
+            long duration = frameTimeNanos - lastFrameNanos;
+            frameCount++;
+            totalDurationNanos += duration;
+            if (duration > worstFrameNanos) {
+                worstFrameNanos = duration;
+            }
+            // Rounded to the nearest vsync, to allow for jitter in the frame times
+            long vsyncs = (duration + frameIntervalNanos / 2) / frameIntervalNanos;
+            if (vsyncs > 1) {
+                droppedFrameCount += vsyncs - 1;
+            }
+        }
+        lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+}
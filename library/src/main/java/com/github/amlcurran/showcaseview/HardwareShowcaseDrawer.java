@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Canvas;
+
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+/**
+ * A {@link ShowcaseDrawer} which can also draw the background and its showcases straight onto a
+ * hardware accelerated canvas, without going through an intermediate bitmap buffer.
+ * <p/>
+ * ShowcaseView picks this mode automatically when the canvas it is drawn onto is hardware
+ * accelerated, from KitKat; otherwise the bitmap methods of {@link ShowcaseDrawer} are used.
+ */
+public interface HardwareShowcaseDrawer extends ShowcaseDrawer {
+
+    /**
+     * Draw the background colour, with every showcase cut out of it, onto the canvas
+     */
+    void drawShowcases(Canvas canvas, ShowcasePoints points, float scaleMultiplier);
+
+}
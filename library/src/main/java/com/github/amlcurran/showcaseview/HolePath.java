@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Path;
+
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+/**
+ * Builds a single path covering every showcase circle, so that all of them can be drawn or
+ * cut out in one call. The circles all wind the same way, so where they overlap the path
+ * covers the union once rather than drawing it twice. Circles which are entirely outside of
+ * the canvas are left out.
+ * <p/>
+ * The path is only rebuilt when the points, radius or canvas size change.
+ */
+class HolePath {
+
+    private final TrackedPath path = new TrackedPath();
+    private int[] builtPoints = new int[0];
+    private int builtCount;
+    private float builtScale;
+    private float builtRadius;
+    private int builtWidth;
+    private int builtHeight;
+    private boolean built;
+
+    /**
+     * @param points the showcase points, which are multiplied by pointScale
+     * @param radius the radius of each circle, already scaled
+     * @param width  the width of the canvas being drawn into
+     * @param height the height of the canvas being drawn into
+     */
+    TrackedPath build(ShowcasePoints points, float pointScale, float radius, int width, int height) {
+        if (isBuilt(points, pointScale, radius, width, height)) {
+            return path;
+        }
+
+        path.reset();
+        path.setFillType(Path.FillType.WINDING);
+        for (int i = 0; i < points.size(); i++) {
+            float x = points.getX(i) * pointScale;
+            float y = points.getY(i) * pointScale;
+            if (x + radius < 0 || y + radius < 0 || x - radius > width || y - radius > height) {
+                continue;
+            }
+            path.addCircle(x, y, radius, Path.Direction.CW);
+        }
+
+        if (builtPoints.length < points.size() * 2) {
+            builtPoints = new int[points.size() * 2];
+        }
+        for (int i = 0; i < points.size(); i++) {
+            builtPoints[i * 2] = points.getX(i);
+            builtPoints[i * 2 + 1] = points.getY(i);
+        }
+        builtCount = points.size();
+        builtScale = pointScale;
+        builtRadius = radius;
+        builtWidth = width;
+        builtHeight = height;
+        built = true;
+        path.markChanged();
+        return path;
+    }
+
+    private boolean isBuilt(ShowcasePoints points, float pointScale, float radius, int width, int height) {
+        if (!built || builtCount != points.size() || builtScale != pointScale
+                || builtRadius != radius || builtWidth != width || builtHeight != height) {
+            return false;
+        }
+        for (int i = 0; i < points.size(); i++) {
+            if (builtPoints[i * 2] != points.getX(i) || builtPoints[i * 2 + 1] != points.getY(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+/**
+ * A {@link ShowcaseDrawer} which only draws the coverage of the background into its buffer, so
+ * that ShowcaseView can give it an {@link android.graphics.Bitmap.Config#ALPHA_8} buffer, a
+ * quarter of the size of an ARGB_8888 one.
+ * <p/>
+ * {@link #drawToCanvas(android.graphics.Canvas, android.graphics.Bitmap)} is then responsible
+ * for tinting the mask with the background colour, and drawing anything coloured on top of it.
+ */
+public interface MaskShowcaseDrawer extends ShowcaseDrawer {
+}
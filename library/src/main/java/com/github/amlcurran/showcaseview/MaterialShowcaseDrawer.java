@@ -3,15 +3,24 @@ package com.github.amlcurran.showcaseview;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffXfermode;
 
-public class MaterialShowcaseDrawer implements ShowcaseDrawer {
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+public class MaterialShowcaseDrawer implements HardwareShowcaseDrawer, BatchShowcaseDrawer, ShapedShowcaseDrawer,
+        MaskShowcaseDrawer {
 
     private final float radius;
     private final Paint basicPaint;
     private final Paint eraserPaint;
+    private final HolePath holePath;
+    private final OverlayPath overlayPath;
+    private final Canvas bufferCanvas;
+    private Bitmap bufferCanvasBitmap;
     private int backgroundColor;
 
     public MaterialShowcaseDrawer(Resources resources) {
@@ -22,6 +31,10 @@ public class MaterialShowcaseDrawer implements ShowcaseDrawer {
         this.eraserPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.MULTIPLY));
         this.eraserPaint.setAntiAlias(true);
         this.basicPaint = new Paint();
+        this.basicPaint.setFilterBitmap(true);
+        this.holePath = new HolePath();
+        this.overlayPath = new OverlayPath();
+        this.bufferCanvas = new Canvas();
     }
 
     @Override
@@ -31,8 +44,42 @@ public class MaterialShowcaseDrawer implements ShowcaseDrawer {
 
     @Override
     public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
-        Canvas bufferCanvas = new Canvas(buffer);
-        bufferCanvas.drawCircle(x, y, radius, eraserPaint);
+        getBufferCanvas(buffer).drawCircle(x, y, radius * scaleMultiplier, eraserPaint);
+    }
+
+    @Override
+    public void drawShowcases(Bitmap buffer, ShowcasePoints points, float bufferScale, float scaleMultiplier) {
+        float scaledRadius = radius * scaleMultiplier * bufferScale;
+        getBufferCanvas(buffer).drawPath(holePath.build(points, bufferScale, scaledRadius,
+                buffer.getWidth(), buffer.getHeight()), eraserPaint);
+    }
+
+    @Override
+    public void drawShowcases(Canvas canvas, ShowcasePoints points, float scaleMultiplier) {
+        overlayPath.draw(canvas, holePath.build(points, 1f, radius * scaleMultiplier, canvas.getWidth(),
+                canvas.getHeight()), backgroundColor);
+    }
+
+    @Override
+    public void drawShapes(Bitmap buffer, Path holes, float bufferScale) {
+        Canvas bufferCanvas = getBufferCanvas(buffer);
+        int saveCount = bufferCanvas.save();
+        bufferCanvas.scale(bufferScale, bufferScale);
+        bufferCanvas.drawPath(holes, eraserPaint);
+        bufferCanvas.restoreToCount(saveCount);
+    }
+
+    @Override
+    public void drawShapes(Canvas canvas, Path holes) {
+        overlayPath.draw(canvas, holes, backgroundColor);
+    }
+
+    private Canvas getBufferCanvas(Bitmap buffer) {
+        if (buffer != bufferCanvasBitmap) {
+            bufferCanvas.setBitmap(buffer);
+            bufferCanvasBitmap = buffer;
+        }
+        return bufferCanvas;
     }
 
     @Override
@@ -53,6 +100,8 @@ public class MaterialShowcaseDrawer implements ShowcaseDrawer {
     @Override
     public void setBackgroundColour(int backgroundColor) {
         this.backgroundColor = backgroundColor;
+        // The alpha of the background comes from the mask
+        this.basicPaint.setColor(backgroundColor | Color.BLACK);
     }
 
     @Override
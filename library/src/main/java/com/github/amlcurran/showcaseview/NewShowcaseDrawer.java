@@ -17,8 +17,9 @@
 package com.github.amlcurran.showcaseview;
 
 import android.content.res.Resources;
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
 
 /**
  * Created by curraa01 on 13/10/2013.
@@ -28,25 +29,33 @@ class NewShowcaseDrawer extends StandardShowcaseDrawer {
     private static final int ALPHA_60_PERCENT = 153;
     private final float outerRadius;
     private final float innerRadius;
+    private final Paint ringPaint;
+    private int showcaseColour;
 
     public NewShowcaseDrawer(Resources resources) {
         super(resources);
         outerRadius = resources.getDimension(R.dimen.showcase_radius_outer);
         innerRadius = resources.getDimension(R.dimen.showcase_radius_inner);
+        ringPaint = new Paint();
+        ringPaint.setStyle(Paint.Style.STROKE);
+        ringPaint.setAntiAlias(true);
     }
 
     @Override
     public void setShowcaseColour(int color) {
-        eraserPaint.setColor(color);
+        showcaseColour = color;
+        updateRingColour();
     }
 
     @Override
-    public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
-        Canvas bufferCanvas = new Canvas(buffer);
-        eraserPaint.setAlpha(ALPHA_60_PERCENT);
-        bufferCanvas.drawCircle(x, y, outerRadius, eraserPaint);
-        eraserPaint.setAlpha(0);
-        bufferCanvas.drawCircle(x, y, innerRadius, eraserPaint);
+    protected float getHoleRadius() {
+        return outerRadius;
+    }
+
+    @Override
+    protected void drawDecoration(Canvas canvas, float x, float y, float scaleMultiplier) {
+        ringPaint.setStrokeWidth((outerRadius - innerRadius) * scaleMultiplier);
+        canvas.drawCircle(x, y, (outerRadius + innerRadius) / 2 * scaleMultiplier, ringPaint);
     }
 
     @Override
@@ -66,6 +75,19 @@ class NewShowcaseDrawer extends StandardShowcaseDrawer {
 
     @Override
     public void setBackgroundColour(int backgroundColor) {
-        this.backgroundColour = backgroundColor;
+        super.setBackgroundColour(backgroundColor);
+        updateRingColour();
+    }
+
+    /**
+     * The ring is the background multiplied with the 60% alpha showcase colour. It's drawn as a
+     * stroke over the cut-out outer circle, rather than being blended into the background
+     */
+    private void updateRingColour() {
+        int alpha = Color.alpha(backgroundColour) * ALPHA_60_PERCENT / 255;
+        int red = Color.red(backgroundColour) * Color.red(showcaseColour) / 255;
+        int green = Color.green(backgroundColour) * Color.green(showcaseColour) / 255;
+        int blue = Color.blue(backgroundColour) * Color.blue(showcaseColour) / 255;
+        ringPaint.setColor(Color.argb(alpha, red, green, blue));
     }
 }
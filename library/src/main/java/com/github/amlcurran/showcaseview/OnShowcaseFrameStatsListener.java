@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+/**
+ * Receives the frame timings of a ShowcaseView, from when it is shown until it has been hidden.
+ *
+ * @see ShowcaseView.Builder#setFrameStatsListener(OnShowcaseFrameStatsListener)
+ */
+public interface OnShowcaseFrameStatsListener {
+
+    /**
+     * Called straight after {@link OnShowcaseEventListener#onShowcaseViewDidHide(ShowcaseView)}.
+     */
+    public void onShowcaseFrameStats(ShowcaseView showcaseView, ShowcaseFrameStats stats);
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.os.Build;
+
+/**
+ * Draws the background with the showcases cut out of it as a single anti-aliased path, the
+ * canvas less the holes, so a hardware canvas gets the same smooth hole edges as a buffer
+ * does. Clipping the holes out instead leaves their edges aliased.
+ * <p/>
+ * The holes are subtracted rather than filled even-odd, so holes which overlap still leave
+ * one hole rather than filling their overlap back in.
+ * <p/>
+ * The subtraction is only redone when the holes or the canvas size change. Holes which aren't a
+ * {@link TrackedPath} can't be checked, so they are subtracted on every draw.
+ */
+@TargetApi(Build.VERSION_CODES.KITKAT)
+class OverlayPath {
+
+    private final Path canvasPath = new Path();
+    private final Path overlayPath = new Path();
+    private final Paint paint;
+    private Path builtHoles;
+    private int builtGeneration;
+    private int builtWidth;
+    private int builtHeight;
+
+    OverlayPath() {
+        paint = new Paint();
+        paint.setAntiAlias(true);
+    }
+
+    void draw(Canvas canvas, Path holes, int backgroundColor) {
+        if (!isBuilt(holes, canvas.getWidth(), canvas.getHeight())) {
+            canvasPath.reset();
+            canvasPath.addRect(0, 0, canvas.getWidth(), canvas.getHeight(), Path.Direction.CW);
+            overlayPath.op(canvasPath, holes, Path.Op.DIFFERENCE);
+            builtHoles = holes;
+            builtGeneration = holes instanceof TrackedPath ? ((TrackedPath) holes).getGeneration() : 0;
+            builtWidth = canvas.getWidth();
+            builtHeight = canvas.getHeight();
+        }
+        paint.setColor(backgroundColor);
+        canvas.drawPath(overlayPath, paint);
+    }
+
+    private boolean isBuilt(Path holes, int width, int height) {
+        return holes == builtHoles && holes instanceof TrackedPath
+                && ((TrackedPath) holes).getGeneration() == builtGeneration
+                && builtWidth == width && builtHeight == height;
+    }
+
+}
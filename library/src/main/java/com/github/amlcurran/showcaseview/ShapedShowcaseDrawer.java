@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Path;
+
+/**
+ * A {@link ShowcaseDrawer} which can cut showcases of any shape out of the background, used for
+ * the rounded rectangle and oval shapes set with
+ * {@link ShowcaseView.Builder#setShowcaseShape(int)}.
+ */
+public interface ShapedShowcaseDrawer extends ShowcaseDrawer {
+
+    /**
+     * Cut the showcases out of the buffer
+     *
+     * @param holes       the path covering every showcase, in the ShowcaseView's coordinates
+     * @param bufferScale the size of the buffer relative to the ShowcaseView
+     */
+    void drawShapes(Bitmap buffer, Path holes, float bufferScale);
+
+    /**
+     * Draw the background, with the showcases cut out of it, straight onto a hardware canvas
+     */
+    void drawShapes(Canvas canvas, Path holes);
+
+}
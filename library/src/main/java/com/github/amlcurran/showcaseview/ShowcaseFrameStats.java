@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+/**
+ * A summary of the frames drawn while a ShowcaseView was showing. Times are in nanoseconds,
+ * measured between successive vsyncs, so a frame which missed its deadline shows up as one
+ * long frame.
+ */
+public class ShowcaseFrameStats {
+
+    private final int frameCount;
+    private final int droppedFrameCount;
+    private final long totalDurationNanos;
+    private final long worstFrameNanos;
+    private final long frameIntervalNanos;
+
+    ShowcaseFrameStats(int frameCount, int droppedFrameCount, long totalDurationNanos,
+                       long worstFrameNanos, long frameIntervalNanos) {
+        this.frameCount = frameCount;
+        this.droppedFrameCount = droppedFrameCount;
+        this.totalDurationNanos = totalDurationNanos;
+        this.worstFrameNanos = worstFrameNanos;
+        this.frameIntervalNanos = frameIntervalNanos;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * The number of vsyncs which passed without a new frame.
+     */
+    public int getDroppedFrameCount() {
+        return droppedFrameCount;
+    }
+
+    public long getTotalDurationNanos() {
+        return totalDurationNanos;
+    }
+
+    public long getWorstFrameNanos() {
+        return worstFrameNanos;
+    }
+
+    public long getAverageFrameNanos() {
+        return frameCount == 0 ? 0 : totalDurationNanos / frameCount;
+    }
+
+    /**
+     * The display's refresh interval, against which frames were counted as dropped.
+     */
+    public long getFrameIntervalNanos() {
+        return frameIntervalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ShowcaseFrameStats{" +
+                "frames=" + frameCount +
+                ", dropped=" + droppedFrameCount +
+                ", worstMs=" + worstFrameNanos / 1000000f +
+                ", averageMs=" + getAverageFrameNanos() / 1000000f +
+                '}';
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.content.res.Resources;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import com.github.amlcurran.showcaseview.geometry.HitTests;
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+/**
+ * Holds the geometry of rounded rectangle and oval showcases, which are sized from the bounds of
+ * their targets. The path covering every showcase is only rebuilt when those bounds change, and
+ * touches are tested against the same geometry.
+ */
+class ShowcaseShapes {
+
+    private final TrackedPath holePath = new TrackedPath();
+    private final RectF shapeRect = new RectF();
+    private final float padding;
+    private final float cornerRadius;
+    private int shape = ShowcaseView.SHAPE_CIRCLE;
+    // left, top, right and bottom of each shape, including padding
+    private float[] shapeBounds = new float[0];
+    private int shapeCount;
+    private boolean built;
+
+    ShowcaseShapes(Resources resources) {
+        padding = resources.getDimension(R.dimen.showcase_shape_padding);
+        cornerRadius = resources.getDimension(R.dimen.showcase_shape_corner_radius);
+    }
+
+    void setShape(int shape) {
+        if (shape < ShowcaseView.SHAPE_CIRCLE || shape > ShowcaseView.SHAPE_OVAL) {
+            throw new IllegalArgumentException("ShowcaseView shape was set to an invalid shape");
+        }
+        this.shape = shape;
+        built = false;
+    }
+
+    /**
+     * @return how far each shape extends beyond its target's bounds
+     */
+    float getPadding() {
+        return padding;
+    }
+
+    boolean isCircle() {
+        return shape == ShowcaseView.SHAPE_CIRCLE;
+    }
+
+    /**
+     * Update the shapes to fit the targets, rebuilding the path only if any of them have changed.
+     * Targets without bounds get a shape the size of the drawer's showcase.
+     */
+    void update(ShowcasePoints points, int fallbackWidth, int fallbackHeight) {
+        if (shapeBounds.length != points.size() * 4) {
+            shapeBounds = new float[points.size() * 4];
+            built = false;
+        }
+        for (int i = 0; i < points.size(); i++) {
+            float left, top, right, bottom;
+            if (points.hasBounds(i)) {
+                left = points.getLeft(i) - padding;
+                top = points.getTop(i) - padding;
+                right = points.getRight(i) + padding;
+                bottom = points.getBottom(i) + padding;
+            } else {
+                left = points.getX(i) - fallbackWidth / 2;
+                top = points.getY(i) - fallbackHeight / 2;
+                right = points.getX(i) + fallbackWidth / 2;
+                bottom = points.getY(i) + fallbackHeight / 2;
+            }
+            built &= shapeBounds[i * 4] == left && shapeBounds[i * 4 + 1] == top
+                    && shapeBounds[i * 4 + 2] == right && shapeBounds[i * 4 + 3] == bottom;
+            shapeBounds[i * 4] = left;
+            shapeBounds[i * 4 + 1] = top;
+            shapeBounds[i * 4 + 2] = right;
+            shapeBounds[i * 4 + 3] = bottom;
+        }
+        shapeCount = points.size();
+
+        if (!built) {
+            buildPath();
+            built = true;
+        }
+    }
+
+    /**
+     * @return the left, top, right and bottom of each shape, as of the last {@link #update}
+     */
+    float[] getShapeBounds() {
+        return shapeBounds;
+    }
+
+    private void buildPath() {
+        holePath.reset();
+        holePath.setFillType(Path.FillType.WINDING);
+        for (int i = 0; i < shapeCount; i++) {
+            shapeRect.set(shapeBounds[i * 4], shapeBounds[i * 4 + 1], shapeBounds[i * 4 + 2], shapeBounds[i * 4 + 3]);
+            if (shape == ShowcaseView.SHAPE_OVAL) {
+                holePath.addOval(shapeRect, Path.Direction.CW);
+            } else {
+                float radius = HitTests.clampCornerRadius(shapeRect.left, shapeRect.top,
+                        shapeRect.right, shapeRect.bottom, cornerRadius);
+                holePath.addRoundRect(shapeRect, radius, radius, Path.Direction.CW);
+            }
+        }
+        holePath.markChanged();
+    }
+
+    /**
+     * The path covering every showcase, valid after {@link #update(ShowcasePoints, int, int)}
+     */
+    Path getHolePath() {
+        return holePath;
+    }
+
+    /**
+     * Whether the point is inside of the shape of the showcase at the given index
+     */
+    boolean contains(int index, float x, float y) {
+        float left = shapeBounds[index * 4];
+        float top = shapeBounds[index * 4 + 1];
+        float right = shapeBounds[index * 4 + 2];
+        float bottom = shapeBounds[index * 4 + 3];
+        if (shape == ShowcaseView.SHAPE_OVAL) {
+            return HitTests.isInsideOval(x, y, left, top, right, bottom);
+        }
+        return HitTests.isInsideRoundRect(x, y, left, top, right, bottom, cornerRadius);
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package com.github.amlcurran.showcaseview;
 
+import android.annotation.TargetApi;
 import android.app.Activity;
 import android.content.Context;
 import android.content.res.TypedArray;
@@ -24,6 +25,8 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Point;
 import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.os.Build;
 import android.text.Layout;
 import android.text.TextPaint;
 import android.text.TextUtils;
@@ -37,9 +40,15 @@ import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.RelativeLayout;
 
+import com.github.amlcurran.showcaseview.geometry.HitTestGrid;
+import com.github.amlcurran.showcaseview.geometry.HitTests;
+import com.github.amlcurran.showcaseview.geometry.ShowcaseAreaCalculator;
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+import com.github.amlcurran.showcaseview.geometry.TextPlacement;
+import com.github.amlcurran.showcaseview.targets.BoundedTarget;
 import com.github.amlcurran.showcaseview.targets.Target;
+import com.github.amlcurran.showcaseview.targets.ViewTarget;
 
-import java.util.HashSet;
 
 import static com.github.amlcurran.showcaseview.AnimationFactory.AnimationEndListener;
 import static com.github.amlcurran.showcaseview.AnimationFactory.AnimationStartListener;
@@ -51,37 +60,65 @@ public class ShowcaseView extends RelativeLayout
         implements View.OnTouchListener, ShowcaseViewApi {
 
     private static final int HOLO_BLUE = Color.parseColor("#33B5E5");
-    public static final int UNDEFINED = -1;
-    public static final int LEFT_OF_SHOWCASE = 0;
-    public static final int RIGHT_OF_SHOWCASE = 2;
-    public static final int ABOVE_SHOWCASE = 1;
-    public static final int BELOW_SHOWCASE = 3;
+    // Where Target.NONE puts its point, off the screen
+    private static final int NO_TARGET_COORDINATE = 1000000;
+    public static final int UNDEFINED = TextPlacement.UNDEFINED;
+    public static final int LEFT_OF_SHOWCASE = TextPlacement.LEFT_OF_SHOWCASE;
+    public static final int RIGHT_OF_SHOWCASE = TextPlacement.RIGHT_OF_SHOWCASE;
+    public static final int ABOVE_SHOWCASE = TextPlacement.ABOVE_SHOWCASE;
+    public static final int BELOW_SHOWCASE = TextPlacement.BELOW_SHOWCASE;
+    public static final int SHAPE_CIRCLE = 0;
+    public static final int SHAPE_ROUNDED_RECT = 1;
+    public static final int SHAPE_OVAL = 2;
 
     private View mEndView;
     private final TextDrawer textDrawer;
     private ShowcaseDrawer showcaseDrawer;
     private final ShowcaseAreaCalculator showcaseAreaCalculator;
-    private final AnimationFactory animationFactory;
+    private AnimationFactory animationFactory;
     private final ShotStateStore shotStateStore;
+    private final ApiUtils apiUtils;
+    private final BufferPool bufferPool;
+    private final ShowcaseShapes showcaseShapes;
 
     // Showcase metrics
-    HashSet<Point> showcases = new HashSet<>();
+    // The targets' points and bounds, in the order they were added
+    private final ShowcasePoints showcasePoints = new ShowcasePoints();
     private float scaleMultiplier = 1f;
-
-    // Text position
-    private Point textItemPosition = new Point(-1, -1); // TODO setado como default
+    private float renderScale = 1f;
 
     // Touch items
     private boolean hasCustomClickListener = false;
     private boolean blockTouches = true;
     private boolean hideOnTouch = false;
+    private boolean passesTouches = false;
+    // Hit tested once on ACTION_DOWN, then kept for the rest of the touch stream
+    private boolean touchStartedInside;
+    private final TouchForwarder touchForwarder = new TouchForwarder();
+    // The view behind each target, where there is one, in the same order as the points
+    private View[] targetViews = new View[0];
     private OnShowcaseEventListener mEventListener = OnShowcaseEventListener.NONE;
+    private OnShowcaseFrameStatsListener frameStatsListener;
+    private FrameMonitor frameMonitor;
 
     private boolean hasAlteredText = false;
     private boolean hasNoTarget = false;
+    // The targets most recently set, which might not have been positioned yet
+    private Target[] pendingTargets;
     private boolean shouldCentreText;
     private Bitmap bitmapBuffer;
 
+    // Overlay cache, the buffer is only redrawn when its generation is out of date
+    private int overlayGeneration;
+    private int renderedOverlayGeneration = -1;
+
+    // Touch hit testing, rebuilt alongside the overlay
+    private final HitTestGrid hitTestGrid = new HitTestGrid();
+    private int[] areaRects = new int[0];
+    private int[] hitRects = new int[0];
+    private int[] hitTargets = new int[0];
+    private int hitTestGeneration = -1;
+
     // Animation items
     private long fadeInMillis;
     private long fadeOutMillis;
@@ -97,7 +134,7 @@ public class ShowcaseView extends RelativeLayout
     protected ShowcaseView(Context context, AttributeSet attrs, int defStyle, boolean newStyle) {
         super(context, attrs, defStyle);
 
-        ApiUtils apiUtils = new ApiUtils();
+        apiUtils = new ApiUtils();
 
         if (apiUtils.isCompatWithHoneycomb()) {
             animationFactory = new AnimatorAnimationFactory();
@@ -107,6 +144,8 @@ public class ShowcaseView extends RelativeLayout
 
         showcaseAreaCalculator = new ShowcaseAreaCalculator();
         shotStateStore = new ShotStateStore(context);
+        bufferPool = BufferPool.getInstance(context);
+        showcaseShapes = new ShowcaseShapes(getResources());
 
         apiUtils.setFitsSystemWindowsCompat(this);
         getViewTreeObserver().addOnPreDrawListener(new CalculateTextOnPreDraw());
@@ -163,10 +202,97 @@ public class ShowcaseView extends RelativeLayout
             return;
         }
 
-        showcases.add(target.getPoint());
+        Point point = target.getPoint();
+        if (showcasePoints.indexOf(point.x, point.y) == -1) {
+            // A real target takes the place of the offscreen point the Builder starts with, so
+            // the drawers aren't handed a showcase nobody can see
+            int index = isNoTargetPoint(point.x, point.y) ? -1 : indexOfNoTargetPoint();
+            if (index == -1) {
+                index = showcasePoints.add(point.x, point.y);
+            } else {
+                showcasePoints.set(index, point.x, point.y);
+            }
+            Rect bounds = target instanceof BoundedTarget ? ((BoundedTarget) target).getBounds() : null;
+            if (bounds != null) {
+                showcasePoints.setBounds(index, bounds.left, bounds.top, bounds.right, bounds.bottom);
+            }
+            setTargetView(index, target instanceof ViewTarget ? ((ViewTarget) target).getView() : null);
+        }
 
         //init();
-        invalidate();
+        invalidateOverlay();
+    }
+
+    /**
+     * The x coordinate of the most recently added target, which is the one moved by
+     * {@link #setShowcase(boolean, Target...)} when animating
+     */
+    public int getShowcaseX() {
+        int index = showcasePoints.size() - 1;
+        return index == -1 ? NO_TARGET_COORDINATE : showcasePoints.getX(index);
+    }
+
+    public int getShowcaseY() {
+        int index = showcasePoints.size() - 1;
+        return index == -1 ? NO_TARGET_COORDINATE : showcasePoints.getY(index);
+    }
+
+    /**
+     * Move the most recently added target in place, with its bounds, as animating the showcase
+     * does on every frame. Does nothing if there is no target to move.
+     */
+    public void setShowcaseX(int x) {
+        int index = showcasePoints.size() - 1;
+        if (index != -1) {
+            showcasePoints.set(index, x, showcasePoints.getY(index));
+            invalidateOverlay();
+        }
+    }
+
+    public void setShowcaseY(int y) {
+        int index = showcasePoints.size() - 1;
+        if (index != -1) {
+            showcasePoints.set(index, showcasePoints.getX(index), y);
+            invalidateOverlay();
+        }
+    }
+
+    /**
+     * Animate the most recent target to a new one. If there's nothing on screen to move from,
+     * the target is positioned straight away, so the animation can't start off screen.
+     */
+    private void animateToTarget(Target target) {
+        int index = showcasePoints.size() - 1;
+        if (index == -1 || isNoTargetPoint(showcasePoints.getX(index), showcasePoints.getY(index))) {
+            setShowcasePosition(target);
+            return;
+        }
+        Point point = target.getPoint();
+        // The bounds are set relative to where the point is now, so they arrive with it and the
+        // shaped hole is the new target's size for the whole move
+        Rect bounds = target instanceof BoundedTarget ? ((BoundedTarget) target).getBounds() : null;
+        if (bounds != null) {
+            int dx = showcasePoints.getX(index) - point.x;
+            int dy = showcasePoints.getY(index) - point.y;
+            showcasePoints.setBounds(index, bounds.left + dx, bounds.top + dy, bounds.right + dx, bounds.bottom + dy);
+        } else {
+            showcasePoints.clearBounds(index);
+        }
+        invalidateOverlay();
+
+        // The moving hole belongs to the new target now, so touches go to its view
+        touchForwarder.cancel();
+        setTargetView(index, target instanceof ViewTarget ? ((ViewTarget) target).getView() : null);
+        animationFactory.animateTargetToPoint(this, point);
+    }
+
+    private void setTargetView(int index, View view) {
+        if (index >= targetViews.length) {
+            View[] grown = new View[Math.max(index + 1, targetViews.length * 2)];
+            System.arraycopy(targetViews, 0, grown, 0, targetViews.length);
+            targetViews = grown;
+        }
+        targetViews[index] = view;
     }
 
     public void setTarget(final Target... target) {
@@ -174,6 +300,7 @@ public class ShowcaseView extends RelativeLayout
     }
 
     public void setShowcase(final boolean animate, final Target... target) {
+        pendingTargets = target;
         postDelayed(new Runnable() {
             @Override
             public void run() {
@@ -183,11 +310,14 @@ public class ShowcaseView extends RelativeLayout
                     updateBitmap();
 
                     if (target != null) {
-                        hasNoTarget = false;
+                        if (hasNoTarget) {
+                            hasNoTarget = false;
+                            invalidateOverlay();
+                        }
 
                         for (Target t : target) {
                             if (animate) {
-                                animationFactory.animateTargetToPoint(ShowcaseView.this, t.getPoint());
+                                animateToTarget(t);
                             } else {
                                 setShowcasePosition(t);
                             }
@@ -195,7 +325,7 @@ public class ShowcaseView extends RelativeLayout
 
                     } else {
                         hasNoTarget = true;
-                        invalidate();
+                        invalidateOverlay();
                     }
 
                 }
@@ -204,22 +334,126 @@ public class ShowcaseView extends RelativeLayout
     }
 
     private void updateBitmap() {
+        if (canDrawDirectly()) {
+            // The showcase is drawn straight onto the hardware canvas, so no buffer is needed
+            clearBitmap();
+        } else {
+            createBitmapIfNeeded();
+        }
+    }
+
+    private void createBitmapIfNeeded() {
         if (bitmapBuffer == null || haveBoundsChanged()) {
             if(bitmapBuffer != null)
-        		bitmapBuffer.recycle();
-            bitmapBuffer = Bitmap.createBitmap(getMeasuredWidth(), getMeasuredHeight(), Bitmap.Config.ARGB_8888);
+        		bufferPool.release(bitmapBuffer);
+            bitmapBuffer = bufferPool.acquire(getBufferWidth(), getBufferHeight(), getBufferConfig());
+            invalidateOverlay();
 
         }
     }
 
+    /**
+     * Mark the showcase overlay as changed, so that the buffer is redrawn on the next frame. This
+     * must be called whenever the targets, scale, colours, drawer or size of the overlay changes
+     */
+    private void invalidateOverlay() {
+        overlayGeneration++;
+        invalidate();
+    }
+
+    /**
+     * Whether the current drawer can skip the bitmap buffer, which is true when it supports
+     * drawing onto a hardware canvas and this view is hardware accelerated
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private boolean canDrawDirectly() {
+        return supportsDirectDrawing() && isHardwareAccelerated();
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private boolean canDrawDirectly(Canvas canvas) {
+        return supportsDirectDrawing() && canvas.isHardwareAccelerated();
+    }
+
+    private boolean supportsDirectDrawing() {
+        // The drawers cut the showcases out of the background with Path.op, from KitKat
+        return showcaseDrawer instanceof HardwareShowcaseDrawer && apiUtils.isCompatWithKitKat();
+    }
+
+    /**
+     * Whether the showcases are drawn as shapes fitted to their targets, rather than circles
+     */
+    private boolean usesShapes() {
+        return !showcaseShapes.isCircle() && showcaseDrawer instanceof ShapedShowcaseDrawer;
+    }
+
+    private void updateShapes() {
+        showcaseShapes.update(showcasePoints, showcaseDrawer.getShowcaseWidth(), showcaseDrawer.getShowcaseHeight());
+    }
+
     private boolean haveBoundsChanged() {
-        return getMeasuredWidth() != bitmapBuffer.getWidth() ||
-                getMeasuredHeight() != bitmapBuffer.getHeight();
+        return getBufferWidth() != bitmapBuffer.getWidth() ||
+                getBufferHeight() != bitmapBuffer.getHeight() ||
+                getBufferConfig() != bitmapBuffer.getConfig();
+    }
+
+    private int getBufferWidth() {
+        return (int) Math.ceil(getMeasuredWidth() * renderScale);
+    }
+
+    private int getBufferHeight() {
+        return (int) Math.ceil(getMeasuredHeight() * renderScale);
+    }
+
+    /**
+     * Drawers which only need the coverage of the background can make do with an alpha mask
+     */
+    private Bitmap.Config getBufferConfig() {
+        if (showcaseDrawer instanceof MaskShowcaseDrawer) {
+            return Bitmap.Config.ALPHA_8;
+        }
+        return Bitmap.Config.ARGB_8888;
+    }
+
+    /**
+     * Find the point of the first target, even if it hasn't been positioned yet
+     *
+     * @return false if there is no target
+     */
+    boolean getFirstTargetPoint(Point outPoint) {
+        if (hasNoTarget) {
+            return false;
+        }
+        for (int i = 0; i < showcasePoints.size(); i++) {
+            if (!isNoTargetPoint(showcasePoints.getX(i), showcasePoints.getY(i))) {
+                outPoint.set(showcasePoints.getX(i), showcasePoints.getY(i));
+                return true;
+            }
+        }
+        if (pendingTargets != null && pendingTargets.length > 0 && pendingTargets[0] != Target.NONE) {
+            Point point = pendingTargets[0].getPoint();
+            outPoint.set(point.x, point.y);
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOfNoTargetPoint() {
+        for (int i = 0; i < showcasePoints.size(); i++) {
+            if (isNoTargetPoint(showcasePoints.getX(i), showcasePoints.getY(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNoTargetPoint(int x, int y) {
+        return x == NO_TARGET_COORDINATE && y == NO_TARGET_COORDINATE;
     }
 
     public boolean hasShowcaseView() {
-        for (Point point : showcases) {
-            if ((point.x != 1000000 && point.y != 1000000) && !hasNoTarget) {
+        for (int i = 0; i < showcasePoints.size(); i++) {
+            if (!isNoTargetPoint(showcasePoints.getX(i), showcasePoints.getY(i)) && !hasNoTarget) {
                 return false;
             }
         }
@@ -258,11 +492,56 @@ public class ShowcaseView extends RelativeLayout
         setTextButtonClose(text.toString());
     }
 
+    /**
+     * Works out the area each positioned target's showcase covers: its shape's bounds, or the
+     * drawer's showcase size around the target's point.
+     *
+     * @return the number of targets in areaRects
+     */
+    private int calculateAreaRects() {
+        if (hasNoTarget) {
+            return 0;
+        }
+        boolean usesShapes = usesShapes();
+        if (usesShapes) {
+            updateShapes();
+        }
+        if (areaRects.length < showcasePoints.size() * 4) {
+            areaRects = new int[showcasePoints.size() * 4];
+        }
+        int dw = showcaseDrawer.getShowcaseWidth();
+        int dh = showcaseDrawer.getShowcaseHeight();
+        float[] shapeBounds = usesShapes ? showcaseShapes.getShapeBounds() : null;
+        int count = 0;
+        for (int i = 0; i < showcasePoints.size(); i++) {
+            int x = showcasePoints.getX(i);
+            int y = showcasePoints.getY(i);
+            if (isNoTargetPoint(x, y)) {
+                continue;
+            }
+            int offset = count * 4;
+            if (usesShapes) {
+                areaRects[offset] = (int) shapeBounds[i * 4];
+                areaRects[offset + 1] = (int) shapeBounds[i * 4 + 1];
+                areaRects[offset + 2] = (int) Math.ceil(shapeBounds[i * 4 + 2]);
+                areaRects[offset + 3] = (int) Math.ceil(shapeBounds[i * 4 + 3]);
+            } else {
+                areaRects[offset] = x - dw / 2;
+                areaRects[offset + 1] = y - dh / 2;
+                areaRects[offset + 2] = x + dw / 2;
+                areaRects[offset + 3] = y + dh / 2;
+            }
+            count++;
+        }
+        return count;
+    }
+
     private void recalculateText() {
-        boolean recalculatedCling = showcaseAreaCalculator.calculateShowcaseRect(textItemPosition.x, textItemPosition.y, showcaseDrawer);
+        int count = calculateAreaRects();
+        boolean recalculatedCling = showcaseAreaCalculator.calculateShowcaseRects(areaRects, count);
         boolean recalculateText = recalculatedCling || hasAlteredText;
         if (recalculateText) {
-            textDrawer.calculateTextPosition(getMeasuredWidth(), getMeasuredHeight(), this, shouldCentreText);
+            textDrawer.calculateTextPosition(getMeasuredWidth(), getMeasuredHeight(), shouldCentreText);
         }
         hasAlteredText = false;
     }
@@ -271,25 +550,67 @@ public class ShowcaseView extends RelativeLayout
     @Override
     protected void dispatchDraw(Canvas canvas) {
 
+        boolean drawDirectly = canDrawDirectly(canvas);
+
         // Checks if is valid
-        for (Point p : showcases) {
-            if (p.x < 0 || p.y < 0 || shotStateStore.hasShot() || bitmapBuffer == null) {
+        if (shotStateStore.hasShot() || (!drawDirectly && bitmapBuffer == null)) {
+            super.dispatchDraw(canvas);
+            return;
+        }
+        for (int i = 0; i < showcasePoints.size(); i++) {
+            if (showcasePoints.getX(i) < 0 || showcasePoints.getY(i) < 0) {
                 super.dispatchDraw(canvas);
                 return;
             }
         }
 
-        // Draw background color
-        showcaseDrawer.erase(bitmapBuffer);
+        if (drawDirectly) {
 
-        // Draw the showcase drawable
-        if (!hasNoTarget) {
+            // Draw the background and showcases straight onto the hardware canvas
+            if (!hasNoTarget && usesShapes()) {
+                updateShapes();
+                ((ShapedShowcaseDrawer) showcaseDrawer).drawShapes(canvas, showcaseShapes.getHolePath());
+            } else if (!hasNoTarget) {
+                ((HardwareShowcaseDrawer) showcaseDrawer).drawShowcases(canvas, showcasePoints, scaleMultiplier);
+            }
+
+        } else {
+
+            // Only redraw the buffer if the overlay has changed since it was last drawn
+            if (renderedOverlayGeneration != overlayGeneration) {
+
+                // Draw background color
+                showcaseDrawer.erase(bitmapBuffer);
+
+                // Draw the showcase drawable
+                if (!hasNoTarget && usesShapes()) {
+                    updateShapes();
+                    ((ShapedShowcaseDrawer) showcaseDrawer).drawShapes(bitmapBuffer, showcaseShapes.getHolePath(),
+                            renderScale);
+                } else if (!hasNoTarget && showcaseDrawer instanceof BatchShowcaseDrawer) {
+                    ((BatchShowcaseDrawer) showcaseDrawer).drawShowcases(bitmapBuffer, showcasePoints,
+                            renderScale, scaleMultiplier);
+                } else if (!hasNoTarget) {
+                    for (int i = 0; i < showcasePoints.size(); i++) {
+                        showcaseDrawer.drawShowcase(bitmapBuffer, showcasePoints.getX(i) * renderScale,
+                                showcasePoints.getY(i) * renderScale, scaleMultiplier * renderScale);
+                    }
+                }
 
-            for (Point p : showcases) {
-                showcaseDrawer.drawShowcase(bitmapBuffer, p.x, p.y, scaleMultiplier);
+                renderedOverlayGeneration = overlayGeneration;
             }
 
-            showcaseDrawer.drawToCanvas(canvas, bitmapBuffer);
+            if (!hasNoTarget) {
+                if (renderScale == 1f) {
+                    showcaseDrawer.drawToCanvas(canvas, bitmapBuffer);
+                } else {
+                    // Scale the reduced size buffer back up to cover the whole view
+                    int saveCount = canvas.save();
+                    canvas.scale(1f / renderScale, 1f / renderScale);
+                    showcaseDrawer.drawToCanvas(canvas, bitmapBuffer);
+                    canvas.restoreToCount(saveCount);
+                }
+            }
         }
 
         // Draw the text on the screen, recalculating its position if necessary
@@ -301,6 +622,7 @@ public class ShowcaseView extends RelativeLayout
 
     @Override
     public void hide() {
+        touchForwarder.cancel();
         clearBitmap();
         // If the type is set to one-shot, store that it has shot
         shotStateStore.storeShot();
@@ -310,7 +632,8 @@ public class ShowcaseView extends RelativeLayout
 
     private void clearBitmap() {
         if (bitmapBuffer != null && !bitmapBuffer.isRecycled()) {
-            bitmapBuffer.recycle();
+            // Hand the buffer on to the next ShowcaseView rather than recycling it
+            bufferPool.release(bitmapBuffer);
             bitmapBuffer = null;
         }
     }
@@ -320,9 +643,7 @@ public class ShowcaseView extends RelativeLayout
                 this, fadeOutMillis, new AnimationEndListener() {
                     @Override
                     public void onAnimationEnd() {
-                        setVisibility(View.GONE);
-                        isShowing = false;
-                        mEventListener.onShowcaseViewDidHide(ShowcaseView.this);
+                        finishHiding();
                     }
                 }
         );
@@ -332,9 +653,30 @@ public class ShowcaseView extends RelativeLayout
     public void show() {
         isShowing = true;
         mEventListener.onShowcaseViewShow(this);
+        if (frameMonitor != null) {
+            frameMonitor.start();
+        }
         fadeInShowcase();
     }
 
+    private void reportFrameStats() {
+        if (frameMonitor != null && frameMonitor.isRunning()) {
+            frameMonitor.stop();
+            frameStatsListener.onShowcaseFrameStats(this, frameMonitor.getStats());
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        touchForwarder.cancel();
+        textDrawer.releaseTextLayer();
+        // Removed without being hidden, so there's no complete session to report
+        if (frameMonitor != null) {
+            frameMonitor.stop();
+        }
+    }
+
     private void fadeInShowcase() {
         animationFactory.fadeInView(
                 this, fadeInMillis,
@@ -353,23 +695,105 @@ public class ShowcaseView extends RelativeLayout
             return true;
         }
 
-        boolean result = false;
+        if (showcasePoints.size() == 0) {
+            // No target has been positioned yet
+            return false;
+        }
+        if (motionEvent.getActionMasked() == MotionEvent.ACTION_DOWN) {
+            touchForwarder.cancel();
+            int target = findShowcaseAt(motionEvent.getRawX(), motionEvent.getRawY());
+            touchStartedInside = target != -1;
+            if (passesTouches && touchStartedInside && targetViews.length > target && targetViews[target] != null) {
+                touchForwarder.start(this, targetViews[target]);
+            }
+        }
 
-        for (Point showcase : showcases) {
-            float xDelta = Math.abs(motionEvent.getRawX() - showcase.x);
-            float yDelta = Math.abs(motionEvent.getRawY() - showcase.y);
-            double distanceFromFocus = Math.sqrt(Math.pow(xDelta, 2) + Math.pow(yDelta, 2));
+        if (touchForwarder.isForwarding()) {
+            touchForwarder.forward(motionEvent);
+            return true;
+        }
 
-            if (MotionEvent.ACTION_UP == motionEvent.getAction() &&
-                    hideOnTouch && distanceFromFocus > showcaseDrawer.getBlockedRadius()) {
-                this.hide();
-                return true;
-            }
+        boolean outsideShowcase = !touchStartedInside;
 
-            result = blockTouches && distanceFromFocus > showcaseDrawer.getBlockedRadius();
+        if (MotionEvent.ACTION_UP == motionEvent.getAction() &&
+                hideOnTouch && outsideShowcase) {
+            this.hide();
+            return true;
         }
 
-        return result; // returning the last, is this a problem?
+        return blockTouches && outsideShowcase;
+    }
+
+    /**
+     * The index of a target whose showcase contains the point, or -1 if it is outside all of
+     * them. Only the targets sharing the point's cell of the hit test grid are tested, so this
+     * doesn't get slower with more targets.
+     */
+    private int findShowcaseAt(float x, float y) {
+        boolean usesShapes = usesShapes();
+        if (usesShapes) {
+            updateShapes();
+        }
+        if (hitTestGeneration != overlayGeneration) {
+            buildHitTestGrid(usesShapes);
+        }
+
+        int cell = hitTestGrid.cellAt(x, y);
+        if (cell == -1) {
+            return -1;
+        }
+        float radius = showcaseDrawer.getBlockedRadius();
+        for (int i = hitTestGrid.cellStart(cell); i < hitTestGrid.cellEnd(cell); i++) {
+            int target = hitTargets[hitTestGrid.entry(i)];
+            if (usesShapes) {
+                if (showcaseShapes.contains(target, x, y)) {
+                    return target;
+                }
+            } else {
+                if (HitTests.isInsideCircle(x, y, showcasePoints.getX(target), showcasePoints.getY(target), radius)) {
+                    return target;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Index the bounds of every target's showcase. The overlay generation changes whenever the
+     * targets, drawer or shape do, so the grid is only rebuilt then, not on every touch.
+     */
+    private void buildHitTestGrid(boolean usesShapes) {
+        int length = showcasePoints.size();
+        if (hitTargets.length < length) {
+            hitTargets = new int[length];
+            hitRects = new int[length * 4];
+        }
+        float radius = showcaseDrawer.getBlockedRadius();
+        float[] shapeBounds = usesShapes ? showcaseShapes.getShapeBounds() : null;
+        int count = 0;
+        for (int i = 0; i < length && !hasNoTarget; i++) {
+            int x = showcasePoints.getX(i);
+            int y = showcasePoints.getY(i);
+            if (isNoTargetPoint(x, y)) {
+                continue;
+            }
+            int offset = count * 4;
+            if (usesShapes) {
+                hitRects[offset] = (int) Math.floor(shapeBounds[i * 4]);
+                hitRects[offset + 1] = (int) Math.floor(shapeBounds[i * 4 + 1]);
+                hitRects[offset + 2] = (int) Math.ceil(shapeBounds[i * 4 + 2]);
+                hitRects[offset + 3] = (int) Math.ceil(shapeBounds[i * 4 + 3]);
+            } else {
+                hitRects[offset] = (int) Math.floor(x - radius);
+                hitRects[offset + 1] = (int) Math.floor(y - radius);
+                hitRects[offset + 2] = (int) Math.ceil(x + radius);
+                hitRects[offset + 3] = (int) Math.ceil(y + radius);
+            }
+            hitTargets[count] = i;
+            count++;
+        }
+        hitTestGrid.build(hitRects, count);
+        hitTestGeneration = overlayGeneration;
     }
 
     private static void insertShowcaseView(ShowcaseView showcaseView, ViewGroup parent, int parentIndex) {
@@ -381,9 +805,77 @@ public class ShowcaseView extends RelativeLayout
         }
     }
 
+    /**
+     * Precompute the text's layouts for where the targets are now, in a ShowcaseView filling
+     * the parent it is about to be added to
+     */
+    private void precomputeText(ViewGroup parent, Runnable onReady) {
+        int canvasW = parent.getWidth() > 0 ? parent.getWidth() : getResources().getDisplayMetrics().widthPixels;
+        int canvasH = parent.getHeight() > 0 ? parent.getHeight() : getResources().getDisplayMetrics().heightPixels;
+        int[] rect = new int[4];
+        predictShowcaseRect(rect);
+        textDrawer.precomputeLayouts(rect[0], rect[1], rect[2], rect[3], canvasW, canvasH,
+                shouldCentreText, onReady);
+    }
+
+    /**
+     * Works out the rect covering the showcases of the targets not yet positioned, as
+     * calculateAreaRects will once they are, or an empty rect if there are none.
+     */
+    private void predictShowcaseRect(int[] out) {
+        boolean usesShapes = usesShapes();
+        float padding = usesShapes ? showcaseShapes.getPadding() : 0;
+        int halfWidth = showcaseDrawer.getShowcaseWidth() / 2;
+        int halfHeight = showcaseDrawer.getShowcaseHeight() / 2;
+        boolean hasRect = false;
+        for (int i = 0; pendingTargets != null && !hasNoTarget && i < pendingTargets.length; i++) {
+            Point point = pendingTargets[i].getPoint();
+            if (isNoTargetPoint(point.x, point.y)) {
+                continue;
+            }
+            Rect bounds = usesShapes && pendingTargets[i] instanceof BoundedTarget ?
+                    ((BoundedTarget) pendingTargets[i]).getBounds() : null;
+            int left, top, right, bottom;
+            if (bounds != null) {
+                left = (int) (bounds.left - padding);
+                top = (int) (bounds.top - padding);
+                right = (int) Math.ceil(bounds.right + padding);
+                bottom = (int) Math.ceil(bounds.bottom + padding);
+            } else {
+                left = point.x - halfWidth;
+                top = point.y - halfHeight;
+                right = point.x + halfWidth;
+                bottom = point.y + halfHeight;
+            }
+            out[0] = hasRect ? Math.min(out[0], left) : left;
+            out[1] = hasRect ? Math.min(out[1], top) : top;
+            out[2] = hasRect ? Math.max(out[2], right) : right;
+            out[3] = hasRect ? Math.max(out[3], bottom) : bottom;
+            hasRect = true;
+        }
+        if (!hasRect) {
+            out[0] = out[1] = out[2] = out[3] = 0;
+        }
+    }
+
     private void hideImmediate() {
+        finishHiding();
+    }
+
+    /**
+     * Tear down after hiding, however the ShowcaseView was hidden, and report the frames timed
+     * while it was showing
+     */
+    private void finishHiding() {
+        boolean wasShowing = isShowing;
         isShowing = false;
         setVisibility(GONE);
+        touchForwarder.cancel();
+        textDrawer.releaseTextLayer();
+        if (wasShowing) {
+            mEventListener.onShowcaseViewDidHide(this);
+        }
+        reportFrameStats();
     }
 
     @Override
@@ -396,8 +888,64 @@ public class ShowcaseView extends RelativeLayout
         textDrawer.setContentText(text);
     }
 
+    /**
+     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#setFrameStatsListener(OnShowcaseFrameStatsListener)
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private void setFrameStatsListener(OnShowcaseFrameStatsListener listener) {
+        if (listener == null || !apiUtils.isCompatWith(Build.VERSION_CODES.JELLY_BEAN)) {
+            frameStatsListener = null;
+            frameMonitor = null;
+            return;
+        }
+        frameStatsListener = listener;
+        if (frameMonitor == null) {
+            frameMonitor = new FrameMonitor(getContext());
+        }
+    }
+
+    /**
+     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#useSingleTextLayout(int)
+     */
+    private void setSingleTextLayout(int titleDetailSpacing) {
+        textDrawer.setSingleLayout(true, titleDetailSpacing);
+        hasAlteredText = true;
+        invalidate();
+    }
+
+    /**
+     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#cacheTextLayer()
+     */
+    private void setCachesTextLayer(boolean cachesTextLayer) {
+        textDrawer.setCachesTextLayer(cachesTextLayer);
+        invalidate();
+    }
+
+    /**
+     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#setRenderScale(float)
+     */
+    private void setRenderScale(float renderScale) {
+        if (renderScale != 1f && renderScale != 0.5f && renderScale != 0.25f) {
+            throw new IllegalArgumentException("ShowcaseView render scale must be 1, 0.5 or 0.25");
+        }
+        this.renderScale = renderScale;
+        if (bitmapBuffer != null) {
+            createBitmapIfNeeded();
+        }
+        invalidateOverlay();
+    }
+
+    /**
+     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#setShowcaseShape(int)
+     */
+    private void setShowcaseShape(int shape) {
+        showcaseShapes.setShape(shape);
+        invalidateOverlay();
+    }
+
     private void setScaleMultiplier(float scaleMultiplier) {
         this.scaleMultiplier = scaleMultiplier;
+        invalidateOverlay();
     }
 
     public void hideButton() {
@@ -419,6 +967,7 @@ public class ShowcaseView extends RelativeLayout
 
         private ViewGroup parent;
         private int parentIndex;
+        private boolean precomputeText;
 
         public Builder(Activity activity) {
             this(activity, false);
@@ -445,10 +994,32 @@ public class ShowcaseView extends RelativeLayout
          * @return the created ShowcaseView
          */
         public ShowcaseView build() {
-            insertShowcaseView(showcaseView, parent, parentIndex);
+            if (precomputeText) {
+                final ViewGroup insertParent = parent;
+                final int insertIndex = parentIndex;
+                showcaseView.precomputeText(insertParent, new Runnable() {
+                    @Override
+                    public void run() {
+                        insertShowcaseView(showcaseView, insertParent, insertIndex);
+                    }
+                });
+            } else {
+                insertShowcaseView(showcaseView, parent, parentIndex);
+            }
             return showcaseView;
         }
 
+        /**
+         * Lay out the title and detail text on a background thread before showing the
+         * ShowcaseView, rather than during its first frame. Worth it for long text. The
+         * ShowcaseView is added to its parent once the text is ready, so
+         * {@link #build()} returns before it is showing.
+         */
+        public Builder precomputeText() {
+            this.precomputeText = true;
+            return this;
+        }
+
         /**
          * Draw a holo-style showcase. This is the default.<br/>
          * <img alt="Holo showcase example" src="../../../../../../../../example2.png" />
@@ -473,6 +1044,21 @@ public class ShowcaseView extends RelativeLayout
             return setShowcaseDrawer(new MaterialShowcaseDrawer(activity.getResources()));
         }
 
+        /**
+         * Draw a soft-edged spotlight, which from KitKat is drawn straight onto a hardware canvas
+         * in a single gradient fill.
+         */
+        public Builder withSpotlightShowcase() {
+            return setShowcaseDrawer(new SpotlightShowcaseDrawer(activity.getResources()));
+        }
+
+        /**
+         * Draw a soft-edged spotlight, with the given width of the soft edge in pixels.
+         */
+        public Builder withSpotlightShowcase(float featherRadius) {
+            return setShowcaseDrawer(new SpotlightShowcaseDrawer(activity.getResources(), featherRadius));
+        }
+
         /**
          * Set a custom showcase drawer which will be responsible for measuring and drawing the showcase
          */
@@ -530,6 +1116,15 @@ public class ShowcaseView extends RelativeLayout
             return this;
         }
 
+        /**
+         * Reveal and hide the ShowcaseView with a circle centred on its first target, rather than
+         * fading it. Has no effect before Lollipop.
+         */
+        public Builder withCircularReveal() {
+            showcaseView.setCircularReveal();
+            return this;
+        }
+
         /**
          * Set the style of the ShowcaseView. See the sample app for example styles.
          */
@@ -587,6 +1182,16 @@ public class ShowcaseView extends RelativeLayout
             return this;
         }
 
+        /**
+         * Time every frame while the ShowcaseView is showing, and pass a summary of them to the
+         * listener once it has been hidden. Frame timing needs Jelly Bean or above, so on older
+         * devices the listener is never called.
+         */
+        public Builder setFrameStatsListener(OnShowcaseFrameStatsListener listener) {
+            showcaseView.setFrameStatsListener(listener);
+            return this;
+        }
+
         public Builder setParent(ViewGroup parent, int index) {
             this.parent = parent;
             this.parentIndex = index;
@@ -657,6 +1262,81 @@ public class ShowcaseView extends RelativeLayout
             return replaceEndButton((Button) view);
         }
 
+        /**
+         * Set the shape of the showcases. {@link #SHAPE_ROUNDED_RECT} and {@link #SHAPE_OVAL} are
+         * sized to fit the bounds of targets such as {@link com.github.amlcurran.showcaseview.targets.ViewTarget},
+         * which suits wide targets much better than a circle.
+         * <p/>
+         * Shapes are supported by the built-in drawers, and by custom drawers which implement
+         * {@link ShapedShowcaseDrawer}. Other drawers always draw circles.
+         *
+         * @param shape one of {@link #SHAPE_CIRCLE} (the default), {@link #SHAPE_ROUNDED_RECT}
+         *              or {@link #SHAPE_OVAL}
+         */
+        public Builder setShowcaseShape(int shape) {
+            showcaseView.setShowcaseShape(shape);
+            return this;
+        }
+
+        /**
+         * Draw the background at a reduced resolution, which is scaled back up with filtering when
+         * drawn. The background is soft enough that this is barely visible, and it cuts the cost
+         * of filling the buffer on high density screens. Touches and text are unaffected.
+         * <p/>
+         * Custom {@link ShowcaseDrawer}s must scale their showcase by the scaleMultiplier given
+         * to {@link ShowcaseDrawer#drawShowcase(android.graphics.Bitmap, float, float, float)}
+         * for this to work. Drawers drawing straight onto a hardware canvas don't use a buffer,
+         * so are always drawn at full resolution.
+         *
+         * @param renderScale 1 (the default), 0.5 or 0.25
+         */
+        public Builder setRenderScale(float renderScale) {
+            showcaseView.setRenderScale(renderScale);
+            return this;
+        }
+
+        /**
+         * Lay out and draw the title and detail text as a single piece of text, which is cheaper
+         * than laying them out one after the other.
+         */
+        public Builder useSingleTextLayout() {
+            return useSingleTextLayout(0);
+        }
+
+        /**
+         * Lay out and draw the title and detail text as a single piece of text, which is cheaper
+         * than laying them out one after the other.
+         *
+         * @param titleDetailSpacing the space, in pixels, between the last line of the title and
+         *                           the first line of the detail text
+         */
+        public Builder useSingleTextLayout(int titleDetailSpacing) {
+            showcaseView.setSingleTextLayout(titleDetailSpacing);
+            return this;
+        }
+
+        /**
+         * Draw the title and detail text into a bitmap once, and draw that bitmap on each frame
+         * instead of every glyph. The bitmap is only redrawn when the text, its paints, width or
+         * alignment change. Worth it for long text or costly typefaces, at the cost of a bitmap
+         * the size of the text.
+         */
+        public Builder cacheTextLayer() {
+            showcaseView.setCachesTextLayer(true);
+            return this;
+        }
+
+        /**
+         * Send touches which start inside a showcase straight to the showcased view, for the
+         * whole gesture, rather than relying on the views below the ShowcaseView to receive them.
+         * This is needed when the ShowcaseView is added mid-hierarchy with
+         * {@link #setParent(ViewGroup, int)}. Only {@link ViewTarget}s have a view to send to.
+         */
+        public Builder passTouchesToTarget() {
+            showcaseView.setPassesTouchesToTarget(true);
+            return this;
+        }
+
         /**
          * Block any touch made on the ShowcaseView, even inside the showcase
          */
@@ -682,7 +1362,11 @@ public class ShowcaseView extends RelativeLayout
         this.showcaseDrawer.setBackgroundColour(backgroundColor);
         this.showcaseDrawer.setShowcaseColour(showcaseColor);
         hasAlteredText = true;
-        invalidate();
+        if (bitmapBuffer != null) {
+            // The new drawer might need a buffer of a different config
+            createBitmapIfNeeded();
+        }
+        invalidateOverlay();
     }
 
     private void setContentTitlePaint(TextPaint textPaint) {
@@ -756,6 +1440,16 @@ public class ShowcaseView extends RelativeLayout
         this.fadeOutMillis = fadeOutMillis;
     }
 
+    /**
+     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#withCircularReveal()
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    private void setCircularReveal() {
+        if (apiUtils.isCompatWith(Build.VERSION_CODES.LOLLIPOP)) {
+            animationFactory = new CircularRevealAnimationFactory();
+        }
+    }
+
     public void forceTextPosition(int textPosition) {
         textDrawer.forceTextPosition(textPosition);
         hasAlteredText = true;
@@ -778,6 +1472,10 @@ public class ShowcaseView extends RelativeLayout
         this.blockTouches = blockTouches;
     }
 
+    private void setPassesTouchesToTarget(boolean passesTouches) {
+        this.passesTouches = passesTouches;
+    }
+
     private void setBlockAllTouches(boolean blockAllTouches) {
         this.blockAllTouches = blockAllTouches;
     }
@@ -809,6 +1507,10 @@ public class ShowcaseView extends RelativeLayout
                 R.style.TextAppearance_ShowcaseView_Title);
         int detailTextAppearance = styled.getResourceId(R.styleable.ShowcaseView_sv_detailTextAppearance,
                 R.style.TextAppearance_ShowcaseView_Detail);
+        boolean autoSizeText = styled.getBoolean(R.styleable.ShowcaseView_sv_autoSizeText, false);
+        float minTextSize = styled.getDimension(R.styleable.ShowcaseView_sv_minTextSize,
+                getResources().getDimension(R.dimen.showcase_min_text_size));
+        float maxTextSize = styled.getDimension(R.styleable.ShowcaseView_sv_maxTextSize, 0);
 
         styled.recycle();
 
@@ -818,7 +1520,9 @@ public class ShowcaseView extends RelativeLayout
         setTextButtonClose(buttonText);
         textDrawer.setTitleStyling(titleTextAppearance);
         textDrawer.setDetailStyling(detailTextAppearance);
+        textDrawer.setAutoSize(autoSizeText, minTextSize, maxTextSize);
         hasAlteredText = true;
+        overlayGeneration++;
 
         if (invalidate) {
             invalidate();
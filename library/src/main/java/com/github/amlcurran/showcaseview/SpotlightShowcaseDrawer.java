@@ -0,0 +1,271 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.os.Build;
+
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+/**
+ * Draws a soft-edged spotlight using a radial gradient, rather than cutting a hard circle out of
+ * the background. On a hardware canvas a single showcase is drawn in one pass, by filling the
+ * canvas with a gradient which is clear in the middle and clamps to the background colour.
+ */
+public class SpotlightShowcaseDrawer implements HardwareShowcaseDrawer, ShapedShowcaseDrawer, MaskShowcaseDrawer {
+
+    private final float radius;
+    private final Paint basicPaint;
+    private final Paint spotlightPaint;
+    private final Paint featherPaint;
+    private final Paint eraserPaint;
+    private final Paint shapeEraserPaint;
+    private final Matrix shaderMatrix;
+    private final Path spotlightPath;
+    private final Path otherSpotlightsPath;
+    private final HolePath holePath;
+    private final OverlayPath overlayPath;
+    private final Canvas bufferCanvas;
+    private Bitmap bufferCanvasBitmap;
+    private Shader spotlightShader;
+    // The soft edge of each spotlight less the others, rebuilt only when the holes are
+    private Path[] featherPaths = new Path[0];
+    private int featherGeneration = -1;
+    private float featherRadius;
+    private int backgroundColor;
+
+    public SpotlightShowcaseDrawer(Resources resources) {
+        this(resources, resources.getDimension(R.dimen.showcase_feather_spotlight));
+    }
+
+    public SpotlightShowcaseDrawer(Resources resources, float featherRadius) {
+        this.radius = resources.getDimension(R.dimen.showcase_radius_spotlight);
+        this.basicPaint = new Paint();
+        this.basicPaint.setFilterBitmap(true);
+        this.spotlightPaint = new Paint();
+        this.featherPaint = new Paint();
+        this.featherPaint.setAntiAlias(true);
+        this.eraserPaint = new Paint();
+        this.eraserPaint.setAntiAlias(true);
+        this.eraserPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.DST_OUT));
+        this.shapeEraserPaint = new Paint();
+        this.shapeEraserPaint.setAntiAlias(true);
+        this.shapeEraserPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.DST_OUT));
+        this.shaderMatrix = new Matrix();
+        this.spotlightPath = new Path();
+        this.otherSpotlightsPath = new Path();
+        this.holePath = new HolePath();
+        this.overlayPath = new OverlayPath();
+        this.bufferCanvas = new Canvas();
+        this.featherRadius = featherRadius;
+        updateShaders();
+    }
+
+    /**
+     * Set the width of the soft edge of the spotlight, which fades from clear to the background
+     * colour. Zero gives a hard edge.
+     */
+    public void setFeatherRadius(float featherRadius) {
+        this.featherRadius = featherRadius;
+        updateShaders();
+    }
+
+    /**
+     * The spotlight has no ring or outline to colour, so this is ignored. Its soft edge fades to
+     * the background colour instead.
+     */
+    @Override
+    public void setShowcaseColour(int color) {
+    }
+
+    @Override
+    public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
+        positionShader(eraserPaint.getShader(), x, y, scaleMultiplier);
+        getBufferCanvas(buffer).drawCircle(x, y, radius * scaleMultiplier, eraserPaint);
+    }
+
+    /**
+     * Shapes are drawn with a hard edge, as a radial gradient can't follow them
+     */
+    @Override
+    public void drawShapes(Bitmap buffer, Path holes, float bufferScale) {
+        Canvas bufferCanvas = getBufferCanvas(buffer);
+        int saveCount = bufferCanvas.save();
+        bufferCanvas.scale(bufferScale, bufferScale);
+        bufferCanvas.drawPath(holes, shapeEraserPaint);
+        bufferCanvas.restoreToCount(saveCount);
+    }
+
+    @Override
+    public void drawShapes(Canvas canvas, Path holes) {
+        overlayPath.draw(canvas, holes, backgroundColor);
+    }
+
+    private Canvas getBufferCanvas(Bitmap buffer) {
+        if (buffer != bufferCanvasBitmap) {
+            bufferCanvas.setBitmap(buffer);
+            bufferCanvasBitmap = buffer;
+        }
+        return bufferCanvas;
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    @Override
+    public void drawShowcases(Canvas canvas, ShowcasePoints points, float scaleMultiplier) {
+        float scaledRadius = radius * scaleMultiplier;
+        int visibleCount = 0;
+        int lastVisible = -1;
+        for (int i = 0; i < points.size(); i++) {
+            if (isVisible(canvas, points.getX(i), points.getY(i), scaledRadius)) {
+                visibleCount++;
+                lastVisible = i;
+            }
+        }
+
+        if (visibleCount <= 1) {
+            // The gradient clamps to the background colour, so one fill draws everything. With
+            // no spotlight on screen, it's centred off the canvas and only the background shows.
+            int index = lastVisible != -1 ? lastVisible : 0;
+            float x = points.size() > 0 ? points.getX(index) : -scaledRadius;
+            float y = points.size() > 0 ? points.getY(index) : -scaledRadius;
+            positionShader(spotlightShader, x, y, scaleMultiplier);
+            canvas.drawPaint(spotlightPaint);
+            return;
+        }
+
+        TrackedPath holes = holePath.build(points, 1f, scaledRadius, canvas.getWidth(), canvas.getHeight());
+        overlayPath.draw(canvas, holes, backgroundColor);
+        if (holes.getGeneration() != featherGeneration) {
+            buildFeatherPaths(canvas, points, scaledRadius);
+            featherGeneration = holes.getGeneration();
+        }
+
+        for (int i = 0; i < points.size(); i++) {
+            if (featherPaths[i].isEmpty()) {
+                continue;
+            }
+            positionShader(spotlightShader, points.getX(i), points.getY(i), scaleMultiplier);
+            canvas.drawPath(featherPaths[i], featherPaint);
+        }
+    }
+
+    /**
+     * Works out the soft edge of each spotlight, keeping it out of the other spotlights
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private void buildFeatherPaths(Canvas canvas, ShowcasePoints points, float scaledRadius) {
+        if (featherPaths.length < points.size()) {
+            Path[] grown = new Path[points.size()];
+            System.arraycopy(featherPaths, 0, grown, 0, featherPaths.length);
+            for (int i = featherPaths.length; i < grown.length; i++) {
+                grown[i] = new Path();
+            }
+            featherPaths = grown;
+        }
+        for (int i = 0; i < points.size(); i++) {
+            featherPaths[i].reset();
+            if (!isVisible(canvas, points.getX(i), points.getY(i), scaledRadius)) {
+                continue;
+            }
+            otherSpotlightsPath.reset();
+            for (int j = 0; j < points.size(); j++) {
+                if (i != j && isVisible(canvas, points.getX(j), points.getY(j), scaledRadius)) {
+                    otherSpotlightsPath.addCircle(points.getX(j), points.getY(j), scaledRadius, Path.Direction.CW);
+                }
+            }
+            // Subtracted rather than clipped out, so the edges stay anti-aliased
+            spotlightPath.reset();
+            spotlightPath.addCircle(points.getX(i), points.getY(i), scaledRadius, Path.Direction.CW);
+            featherPaths[i].op(spotlightPath, otherSpotlightsPath, Path.Op.DIFFERENCE);
+        }
+    }
+
+    private static boolean isVisible(Canvas canvas, int x, int y, float radius) {
+        return x + radius > 0 && y + radius > 0
+                && x - radius < canvas.getWidth() && y - radius < canvas.getHeight();
+    }
+
+    /**
+     * The shaders are built once around the origin, and moved onto each showcase with their
+     * local matrix, so that drawing doesn't allocate a gradient for every frame
+     */
+    private void positionShader(Shader shader, float x, float y, float scaleMultiplier) {
+        shaderMatrix.setScale(scaleMultiplier, scaleMultiplier);
+        shaderMatrix.postTranslate(x, y);
+        shader.setLocalMatrix(shaderMatrix);
+    }
+
+    private void updateShaders() {
+        float clearStop = Math.max(0f, (radius - featherRadius) / radius);
+        float[] stops = new float[]{0f, clearStop, 1f};
+
+        spotlightShader = new RadialGradient(0, 0, radius,
+                new int[]{Color.TRANSPARENT, Color.TRANSPARENT, backgroundColor},
+                stops, Shader.TileMode.CLAMP);
+        spotlightPaint.setShader(spotlightShader);
+        featherPaint.setShader(spotlightShader);
+
+        // Erases the buffer fully in the middle of the spotlight, fading out towards its edge
+        eraserPaint.setShader(new RadialGradient(0, 0, radius,
+                new int[]{Color.BLACK, Color.BLACK, Color.TRANSPARENT},
+                stops, Shader.TileMode.CLAMP));
+    }
+
+    @Override
+    public int getShowcaseWidth() {
+        return (int) (radius * 2);
+    }
+
+    @Override
+    public int getShowcaseHeight() {
+        return (int) (radius * 2);
+    }
+
+    @Override
+    public float getBlockedRadius() {
+        return radius;
+    }
+
+    @Override
+    public void setBackgroundColour(int backgroundColor) {
+        this.backgroundColor = backgroundColor;
+        // The alpha of the background comes from the mask
+        this.basicPaint.setColor(backgroundColor | Color.BLACK);
+        updateShaders();
+    }
+
+    @Override
+    public void erase(Bitmap bitmapBuffer) {
+        bitmapBuffer.eraseColor(backgroundColor);
+    }
+
+    @Override
+    public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
+        canvas.drawBitmap(bitmapBuffer, 0, 0, basicPaint);
+    }
+}
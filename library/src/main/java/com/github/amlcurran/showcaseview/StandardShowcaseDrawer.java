@@ -19,17 +19,35 @@ package com.github.amlcurran.showcaseview;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 
-class StandardShowcaseDrawer implements ShowcaseDrawer {
+import com.github.amlcurran.showcaseview.geometry.ShowcasePoints;
+
+class StandardShowcaseDrawer implements HardwareShowcaseDrawer, BatchShowcaseDrawer, ShapedShowcaseDrawer,
+        MaskShowcaseDrawer {
 
     protected final Paint eraserPaint;
     protected final Drawable showcaseDrawable;
+    private final Resources resources;
     private final Paint basicPaint;
+    private final Paint spritePaint;
+    private final Rect spriteBounds;
     private final float showcaseRadius;
+    private final HolePath holePath;
+    private final OverlayPath overlayPath;
+    private final Canvas bufferCanvas;
+    private Bitmap bufferCanvasBitmap;
+    // x, y and scale of each showcase drawn into the buffer since it was last erased
+    private float[] showcasePositions = new float[12];
+    private int showcasePositionCount;
+    private Bitmap clingSprite;
+    private int showcaseColour = Color.WHITE;
     protected int backgroundColour;
 
     public StandardShowcaseDrawer(Resources resources) {
@@ -40,27 +58,114 @@ class StandardShowcaseDrawer implements ShowcaseDrawer {
         eraserPaint.setXfermode(xfermode);
         eraserPaint.setAntiAlias(true);
         basicPaint = new Paint();
+        basicPaint.setFilterBitmap(true);
+        spritePaint = new Paint();
+        spritePaint.setFilterBitmap(true);
+        spriteBounds = new Rect();
+        holePath = new HolePath();
+        overlayPath = new OverlayPath();
+        bufferCanvas = new Canvas();
         showcaseRadius = resources.getDimension(R.dimen.showcase_radius);
         showcaseDrawable = resources.getDrawable(R.drawable.cling_bleached);
+        this.resources = resources;
     }
 
     @Override
     public void setShowcaseColour(int color) {
-        showcaseDrawable.setColorFilter(color, PorterDuff.Mode.MULTIPLY);
+        showcaseColour = color;
+        clingSprite = ClingSpriteCache.getSprite(resources, color);
     }
 
     @Override
     public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
-        Canvas bufferCanvas = new Canvas(buffer);
-        bufferCanvas.drawCircle(x, y, showcaseRadius, eraserPaint);
-        int halfW = getShowcaseWidth() / 2;
-        int halfH = getShowcaseHeight() / 2;
-        int left = (int) (x - halfW);
-        int top = (int) (y - halfH);
-        showcaseDrawable.setBounds(left, top,
-                left + getShowcaseWidth(),
-                top + getShowcaseHeight());
-        showcaseDrawable.draw(bufferCanvas);
+        Canvas bufferCanvas = getBufferCanvas(buffer);
+        bufferCanvas.drawCircle(x, y, getHoleRadius() * scaleMultiplier, eraserPaint);
+        // The mask can't hold the decoration's colours, so it is drawn over the mask later on
+        addShowcasePosition(x, y, scaleMultiplier);
+    }
+
+    @Override
+    public void drawShowcases(Bitmap buffer, ShowcasePoints points, float bufferScale, float scaleMultiplier) {
+        Canvas bufferCanvas = getBufferCanvas(buffer);
+        float radius = getHoleRadius() * scaleMultiplier * bufferScale;
+        bufferCanvas.drawPath(holePath.build(points, bufferScale, radius, buffer.getWidth(), buffer.getHeight()), eraserPaint);
+        for (int i = 0; i < points.size(); i++) {
+            addShowcasePosition(points.getX(i) * bufferScale, points.getY(i) * bufferScale, scaleMultiplier * bufferScale);
+        }
+    }
+
+    @Override
+    public void drawShowcases(Canvas canvas, ShowcasePoints points, float scaleMultiplier) {
+        float radius = getHoleRadius() * scaleMultiplier;
+        overlayPath.draw(canvas, holePath.build(points, 1f, radius, canvas.getWidth(), canvas.getHeight()),
+                backgroundColour);
+        for (int i = 0; i < points.size(); i++) {
+            drawDecoration(canvas, points.getX(i), points.getY(i), scaleMultiplier);
+        }
+    }
+
+    @Override
+    public void drawShapes(Bitmap buffer, Path holes, float bufferScale) {
+        Canvas bufferCanvas = getBufferCanvas(buffer);
+        int saveCount = bufferCanvas.save();
+        bufferCanvas.scale(bufferScale, bufferScale);
+        bufferCanvas.drawPath(holes, eraserPaint);
+        bufferCanvas.restoreToCount(saveCount);
+    }
+
+    @Override
+    public void drawShapes(Canvas canvas, Path holes) {
+        overlayPath.draw(canvas, holes, backgroundColour);
+    }
+
+    /**
+     * The radius of the circle which is cut out of the background for each showcase
+     */
+    protected float getHoleRadius() {
+        return showcaseRadius;
+    }
+
+    /**
+     * Draw whatever sits on top of the background around a showcase, in full colour
+     */
+    protected void drawDecoration(Canvas canvas, float x, float y, float scaleMultiplier) {
+        if (clingSprite == null) {
+            clingSprite = ClingSpriteCache.getSprite(resources, showcaseColour);
+        }
+        int width = (int) (getShowcaseWidth() * scaleMultiplier);
+        int height = (int) (getShowcaseHeight() * scaleMultiplier);
+        int left = (int) (x - width / 2);
+        int top = (int) (y - height / 2);
+        if (scaleMultiplier == 1f) {
+            canvas.drawBitmap(clingSprite, left, top, spritePaint);
+        } else {
+            spriteBounds.set(left, top, left + width, top + height);
+            canvas.drawBitmap(clingSprite, null, spriteBounds, spritePaint);
+        }
+    }
+
+    private void addShowcasePosition(float x, float y, float scaleMultiplier) {
+        if (showcasePositionCount * 3 == showcasePositions.length) {
+            float[] grown = new float[showcasePositions.length * 2];
+            System.arraycopy(showcasePositions, 0, grown, 0, showcasePositions.length);
+            showcasePositions = grown;
+        }
+        showcasePositions[showcasePositionCount * 3] = x;
+        showcasePositions[showcasePositionCount * 3 + 1] = y;
+        showcasePositions[showcasePositionCount * 3 + 2] = scaleMultiplier;
+        showcasePositionCount++;
+    }
+
+    /**
+     * Returns a canvas drawing into the buffer, which is reused between frames rather than
+     * allocated for every showcase
+     */
+    protected Canvas getBufferCanvas(Bitmap buffer) {
+        if (buffer != bufferCanvasBitmap) {
+            bufferCanvas.setBitmap(buffer);
+            bufferCanvasBitmap = buffer;
+        }
+        return bufferCanvas;
     }
 
     @Override
@@ -81,16 +186,30 @@ class StandardShowcaseDrawer implements ShowcaseDrawer {
     @Override
     public void setBackgroundColour(int backgroundColor) {
         this.backgroundColour = backgroundColor;
+        // The alpha of the background comes from the mask
+        basicPaint.setColor(backgroundColor | Color.BLACK);
+    }
+
+    /**
+     * The colour the mask is drawn in, which gives the background its colour
+     */
+    int getMaskTint() {
+        return basicPaint.getColor();
     }
 
     @Override
     public void erase(Bitmap bitmapBuffer) {
         bitmapBuffer.eraseColor(backgroundColour);
+        showcasePositionCount = 0;
     }
 
     @Override
     public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
         canvas.drawBitmap(bitmapBuffer, 0, 0, basicPaint);
+        for (int i = 0; i < showcasePositionCount; i++) {
+            drawDecoration(canvas, showcasePositions[i * 3], showcasePositions[i * 3 + 1],
+                    showcasePositions[i * 3 + 2]);
+        }
     }
 
 }
@@ -18,23 +18,39 @@ package com.github.amlcurran.showcaseview;
 
 import android.content.Context;
 import android.content.res.Resources;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Rect;
-import android.text.DynamicLayout;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Layout;
 import android.text.SpannableString;
+import android.text.StaticLayout;
 import android.text.TextPaint;
 import android.text.TextUtils;
 import android.text.style.TextAppearanceSpan;
 
+import com.github.amlcurran.showcaseview.geometry.ShowcaseAreaCalculator;
+import com.github.amlcurran.showcaseview.geometry.TextPlacement;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
 /**
  * Draws the text as required by the ShowcaseView
  */
 class TextDrawer {
 
-    private static final int INDEX_TEXT_START_X = 0;
-    private static final int INDEX_TEXT_START_Y = 1;
-    private static final int INDEX_TEXT_WIDTH = 2;
+    private static final int INDEX_TEXT_START_X = TextPlacement.INDEX_TEXT_START_X;
+    private static final int INDEX_TEXT_START_Y = TextPlacement.INDEX_TEXT_START_Y;
+    private static final int INDEX_TEXT_WIDTH = TextPlacement.INDEX_TEXT_WIDTH;
+    private static final int INDEX_AVAILABLE_HEIGHT = TextPlacement.INDEX_AVAILABLE_HEIGHT;
+
+    private static final float DETAIL_SPACING_MULT = 1.2f;
+    // The extra pixel between lines the text has always been laid out with
+    static final float SPACING_ADD = 1.0f;
+
+    private static Executor precomputeExecutor;
 
     private final TextPaint titlePaint;
     private final TextPaint textPaint;
@@ -48,12 +64,45 @@ class TextDrawer {
     private float compensationTextPositionWidth;
     private float compensationTextPositionHeight;
     private CharSequence mTitle, mDetails;
-    private float[] mBestTextPosition = new float[3];
-    private DynamicLayout mDynamicTitleLayout;
-    private DynamicLayout mDynamicDetailLayout;
+    private float[] mBestTextPosition = new float[4];
+    private final TextPlacement placement;
+    private final TextLayoutCache titleLayoutCache = new TextLayoutCache(1.0f);
+    private final TextLayoutCache detailLayoutCache = new TextLayoutCache(DETAIL_SPACING_MULT);
     private TextAppearanceSpan mTitleSpan;
     private TextAppearanceSpan mDetailSpan;
-    private boolean hasRecalculated;
+    private boolean hasTextPosition;
+    private boolean cachesTextLayer;
+    // In single layout mode, the title and detail text spanned together, built when first needed
+    private boolean singleLayout;
+    private int titleDetailSpacing;
+    private CharSequence combinedText;
+    private Bitmap textLayer;
+    private Canvas textLayerCanvas;
+    private StaticLayout layerTitleLayout;
+    private StaticLayout layerDetailLayout;
+
+    // Auto-sizing, with the last fitted size kept for as long as it's still the answer
+    private boolean autoSize;
+    private float minTextSize;
+    private float maxTextSize;
+    private int fitTextGeneration = -1;
+    private int fitWidth;
+    private float fitTextSize;
+    private float fitHeight;
+    private float failHeight;
+    // Auto-sized text is laid out with these paints, set to the fitted size, and copies of the
+    // text whose text appearances leave the size to the paint
+    private final TextPaint fitTitlePaint;
+    private final TextPaint fitTextPaint;
+    private CharSequence fitTitle, fitDetails, fitCombinedText;
+    private int fitSourceGeneration = -1;
+    private float appliedTextSize;
+    private int fitPaintGeneration;
+    // Bumped whenever a paint changes, so the layout caches know to lay the text out again
+    private int titlePaintGeneration;
+    private int textPaintGeneration;
+    // Bumped whenever anything changing the height of the laid out text changes
+    private int textGeneration;
     private int forcedTextPosition = ShowcaseView.UNDEFINED;
 
     public TextDrawer(Resources resources, ShowcaseAreaCalculator calculator, Context context) {
@@ -68,44 +117,208 @@ class TextDrawer {
 
         textPaint = new TextPaint();
         textPaint.setAntiAlias(true);
+
+        fitTitlePaint = new TextPaint();
+        fitTextPaint = new TextPaint();
+
+        placement = new TextPlacement(padding, actionBarOffset, new TextPlacement.TextMeasurer() {
+            @Override
+            public int measureTextHeight(int width) {
+                // When auto-sizing, a region is big enough if the text fits at the smallest size
+                if (autoSize) {
+                    applyTextSize(getMinimumTextSize());
+                }
+                return measureTextHeight(width);
+            }
+        });
     }
 
     public void draw(Canvas canvas) {
-        if (shouldDrawText()) {
+        if (shouldDrawText() && hasTextPosition) {
             float[] textPosition = getBestTextPosition();
 
             float textPositionX = getCalculateTextPosition(textPosition[INDEX_TEXT_START_X], compensationTextPositionWidth);
             float textPositionY = getCalculateTextPosition(textPosition[INDEX_TEXT_START_Y], compensationTextPositionHeight);
 
-            if (!TextUtils.isEmpty(mTitle)) {
+            // The caches hand back the same layouts until the text, paint, width or alignment change
+            int textWidth = (int) mBestTextPosition[INDEX_TEXT_WIDTH];
+            if (autoSize) {
+                applyTextSize(findFitTextSize(textWidth, mBestTextPosition[INDEX_AVAILABLE_HEIGHT]));
+            }
+            StaticLayout titleLayout = getTitleLayout(textWidth);
+            StaticLayout detailLayout = getDetailLayout(textWidth);
+
+            if (cachesTextLayer) {
+                updateTextLayer(titleLayout, detailLayout, textWidth);
+                canvas.drawBitmap(textLayer, Math.round(textPositionX), Math.round(textPositionY), null);
+            } else {
                 canvas.save();
-                if (hasRecalculated) {
-                    mDynamicTitleLayout = new DynamicLayout(mTitle, titlePaint,
-                                                            (int) mBestTextPosition[INDEX_TEXT_WIDTH], titleTextAlignment, 1.0f, 1.0f, true);
-                }
-                if (mDynamicTitleLayout != null) {
-                    canvas.translate(textPositionX, textPositionY);
-                    mDynamicTitleLayout.draw(canvas);
-                    canvas.restore();
+                canvas.translate(textPositionX, textPositionY);
+                drawLayouts(canvas, titleLayout, detailLayout);
+                canvas.restore();
+            }
+        }
+    }
+
+    private static void drawLayouts(Canvas canvas, StaticLayout titleLayout, StaticLayout detailLayout) {
+        if (titleLayout != null) {
+            titleLayout.draw(canvas);
+            canvas.translate(0, titleLayout.getHeight());
+        }
+        if (detailLayout != null) {
+            detailLayout.draw(canvas);
+        }
+    }
+
+    /**
+     * Rasterises the layouts into the text layer, unless it already holds exactly these layouts.
+     * Any change to the text, its paints, width or alignment gives a new layout, so comparing
+     * them is enough. Moving the text only moves where the layer is drawn.
+     */
+    private void updateTextLayer(StaticLayout titleLayout, StaticLayout detailLayout, int layoutWidth) {
+        if (textLayer != null && layerTitleLayout == titleLayout && layerDetailLayout == detailLayout) {
+            return;
+        }
+        int layoutHeight = (titleLayout != null ? titleLayout.getHeight() : 0)
+                + (detailLayout != null ? detailLayout.getHeight() : 0);
+        int width = Math.max(layoutWidth, 1);
+        int height = Math.max(layoutHeight, 1);
+        if (textLayer == null || textLayer.getWidth() != width || textLayer.getHeight() != height) {
+            releaseTextLayer();
+            textLayer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            textLayerCanvas = new Canvas(textLayer);
+        } else {
+            textLayer.eraseColor(0);
+        }
+        drawLayouts(textLayerCanvas, titleLayout, detailLayout);
+        layerTitleLayout = titleLayout;
+        layerDetailLayout = detailLayout;
+    }
+
+    /**
+     * Draw the text from a bitmap, which is only redrawn when the text, its paints, width or
+     * alignment change, instead of drawing every glyph on every frame.
+     */
+    public void setCachesTextLayer(boolean cachesTextLayer) {
+        this.cachesTextLayer = cachesTextLayer;
+        if (!cachesTextLayer) {
+            releaseTextLayer();
+        }
+    }
+
+    public void releaseTextLayer() {
+        if (textLayer != null) {
+            textLayer.recycle();
+            textLayer = null;
+            textLayerCanvas = null;
+        }
+        layerTitleLayout = null;
+        layerDetailLayout = null;
+    }
+
+    /**
+     * Lays out the text on a background thread at the width of each region it could be placed
+     * in, around where the showcase is expected to be. Back on the main thread, the heights are
+     * handed to the placement and the layouts at every width to the caches, so the
+     * first frame neither measures nor lays out the text, before onReady is called.
+     * <p/>
+     * Auto-sized text is laid out at a size which depends on the region it's placed in, so it
+     * isn't precomputed.
+     *
+     * @param canvasW the predicted width of the ShowcaseView
+     * @param canvasH the predicted height of the ShowcaseView
+     */
+    public void precomputeLayouts(final int left, final int top, final int right, final int bottom,
+                                  final int canvasW, final int canvasH, final boolean shouldCentreText,
+                                  final Runnable onReady) {
+        if (autoSize) {
+            onReady.run();
+            return;
+        }
+        final int[] widths = new int[4];
+        final int widthCount = placement.getCandidateWidths(left, top, right, bottom, canvasW, canvasH,
+                shouldCentreText, forcedTextPosition, widths);
+        final CharSequence title = mTitle;
+        final CharSequence details = mDetails;
+        // Paints aren't thread safe, so the background thread gets its own copies
+        final TextPaint titlePaintCopy = new TextPaint(titlePaint);
+        final TextPaint textPaintCopy = new TextPaint(textPaint);
+        final CharSequence combined = singleLayout ? getCombinedText() : null;
+        final int generation = textGeneration;
+        final Layout.Alignment titleAlignment = titleTextAlignment;
+        final Layout.Alignment detailAlignment = detailTextAlignment;
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        getPrecomputeExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final StaticLayout[] titleLayouts = new StaticLayout[widthCount];
+                final StaticLayout[] detailLayouts = new StaticLayout[widthCount];
+                final int[] heights = new int[widthCount];
+                for (int i = 0; i < widthCount; i++) {
+                    if (combined != null) {
+                        titleLayouts[i] = newCombinedLayout(combined, textPaintCopy, widths[i]);
+                    } else {
+                        if (!TextUtils.isEmpty(title)) {
+                            titleLayouts[i] = new StaticLayout(title, titlePaintCopy, widths[i],
+                                    titleAlignment, 1.0f, SPACING_ADD, true);
+                        }
+                        if (!TextUtils.isEmpty(details)) {
+                            detailLayouts[i] = new StaticLayout(details, textPaintCopy, widths[i],
+                                    detailAlignment, DETAIL_SPACING_MULT, SPACING_ADD, true);
+                        }
+                    }
+                    heights[i] = (titleLayouts[i] != null ? titleLayouts[i].getHeight() : 0)
+                            + (detailLayouts[i] != null ? detailLayouts[i].getHeight() : 0);
                 }
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Layouts for text or paints which have since been replaced are of no use
+                        if (generation == textGeneration) {
+                            useLayouts(widths, titleLayouts, detailLayouts, heights);
+                        }
+                        onReady.run();
+                    }
+                });
             }
+        });
+    }
 
-            if (!TextUtils.isEmpty(mDetails)) {
-                canvas.save();
-                if (hasRecalculated) {
-                    mDynamicDetailLayout = new DynamicLayout(mDetails, textPaint,
-                                                             (int) mBestTextPosition[INDEX_TEXT_WIDTH], detailTextAlignment, 1.2f, 1.0f, true);
+    private void useLayouts(int[] widths, StaticLayout[] titleLayouts, StaticLayout[] detailLayouts, int[] heights) {
+        for (int i = 0; i < heights.length; i++) {
+            placement.putTextHeight(textGeneration, widths[i], heights[i]);
+        }
+        // The caches hold a layout for each candidate width, so whichever the first frame picks is ready
+        for (int i = 0; i < heights.length; i++) {
+            if (singleLayout) {
+                titleLayoutCache.put(getCombinedText(), textGeneration, widths[i],
+                        Layout.Alignment.ALIGN_NORMAL, titleLayouts[i]);
+            } else {
+                if (titleLayouts[i] != null) {
+                    titleLayoutCache.put(mTitle, titlePaintGeneration, widths[i], titleTextAlignment, titleLayouts[i]);
                 }
-                float offsetForTitle = mDynamicTitleLayout != null ? mDynamicTitleLayout.getHeight() : 0;
-                if (mDynamicDetailLayout != null) {
-                    canvas.translate(textPositionX, textPositionY + offsetForTitle);
-                    mDynamicDetailLayout.draw(canvas);
-                    canvas.restore();
+                if (detailLayouts[i] != null) {
+                    detailLayoutCache.put(mDetails, textPaintGeneration, widths[i], detailTextAlignment, detailLayouts[i]);
                 }
-
             }
         }
-        hasRecalculated = false;
+    }
+
+    private static synchronized Executor getPrecomputeExecutor() {
+        if (precomputeExecutor == null) {
+            precomputeExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ShowcaseView-text");
+                    // Never keep the process alive just to finish a layout nobody will draw
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+        return precomputeExecutor;
     }
 
     public void setContentText(CharSequence details) {
@@ -113,6 +326,8 @@ class TextDrawer {
             SpannableString ssbDetail = new SpannableString(details);
             ssbDetail.setSpan(mDetailSpan, 0, ssbDetail.length(), 0);
             mDetails = ssbDetail;
+            combinedText = null;
+            textGeneration++;
         }
     }
 
@@ -121,6 +336,8 @@ class TextDrawer {
             SpannableString ssbTitle = new SpannableString(title);
             ssbTitle.setSpan(mTitleSpan, 0, ssbTitle.length(), 0);
             mTitle = ssbTitle;
+            combinedText = null;
+            textGeneration++;
         }
     }
 
@@ -130,75 +347,218 @@ class TextDrawer {
      * @param canvasH height of the screen
      * @param shouldCentreText
      */
-    public void calculateTextPosition(int canvasW, int canvasH, ShowcaseView showcaseView, boolean shouldCentreText) {
-
-    	Rect showcase = showcaseView.hasShowcaseView() ?
-    			calculator.getShowcaseRect() :
-    			new Rect();
-    	
-    	int[] areas = new int[4]; //left, top, right, bottom
-    	areas[ShowcaseView.LEFT_OF_SHOWCASE] = showcase.left * canvasH;
-    	areas[ShowcaseView.ABOVE_SHOWCASE] = showcase.top * canvasW;
-    	areas[ShowcaseView.RIGHT_OF_SHOWCASE] = (canvasW - showcase.right) * canvasH;
-    	areas[ShowcaseView.BELOW_SHOWCASE] = (canvasH - showcase.bottom) * canvasW;
-    	
-    	int largest = 0;
-    	for(int i = 1; i < areas.length; i++) {
-    		if(areas[i] > areas[largest])
-    			largest = i;
-    	}
-
-        if (forcedTextPosition != ShowcaseView.UNDEFINED) {
-            largest = forcedTextPosition;
+    public void calculateTextPosition(int canvasW, int canvasH, boolean shouldCentreText) {
+        if (calculator.hasShowcaseRect()) {
+            placement.place(calculator.getShowcaseLeft(), calculator.getShowcaseTop(),
+                    calculator.getShowcaseRight(), calculator.getShowcaseBottom(), canvasW, canvasH,
+                    shouldCentreText, forcedTextPosition, textGeneration, mBestTextPosition);
+        } else {
+            placement.place(0, 0, 0, 0, canvasW, canvasH,
+                    shouldCentreText, forcedTextPosition, textGeneration, mBestTextPosition);
         }
+        hasTextPosition = true;
+    }
 
-    	// Position text in largest area
-    	switch(largest) {
-    	case ShowcaseView.LEFT_OF_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = padding;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = showcase.left - 2 * padding;
-    		break;
-    	case ShowcaseView.ABOVE_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = padding + actionBarOffset;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = canvasW - 2 * padding;
-    		break;
-    	case ShowcaseView.RIGHT_OF_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = showcase.right + padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = padding;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = (canvasW - showcase.right) - 2 * padding;
-    		break;
-    	case ShowcaseView.BELOW_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = showcase.bottom + padding;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = canvasW - 2 * padding;
-    		break;
-    	}
-    	if(shouldCentreText) {
-	    	// Center text vertically or horizontally
-	    	switch(largest) {
-	    	case ShowcaseView.LEFT_OF_SHOWCASE:
-	    	case ShowcaseView.RIGHT_OF_SHOWCASE:
-	    		mBestTextPosition[INDEX_TEXT_START_Y] += canvasH / 4;
-	    		break;
-	    	case ShowcaseView.ABOVE_SHOWCASE:
-	    	case ShowcaseView.BELOW_SHOWCASE:
-	    		mBestTextPosition[INDEX_TEXT_WIDTH] /= 2;
-	    		mBestTextPosition[INDEX_TEXT_START_X] += canvasW / 4;
-	    		break;
-	    	} 
-    	} else {
-    		// As text is not centered add actionbar padding if the text is left or right
-	    	switch(largest) {
-	    		case ShowcaseView.LEFT_OF_SHOWCASE:
-	    		case ShowcaseView.RIGHT_OF_SHOWCASE:
-	    			mBestTextPosition[INDEX_TEXT_START_Y] += actionBarOffset;
-	    			break;
-	    	}
-    	}
-
-        hasRecalculated = true;
+    /**
+     * Measures the text with the layouts draw uses. The caches hold a layout for each region the
+     * text could be placed in, so the one finally chosen is usually already built.
+     */
+    private int measureTextHeight(int width) {
+        StaticLayout titleLayout = getTitleLayout(width);
+        StaticLayout detailLayout = getDetailLayout(width);
+        return (titleLayout != null ? titleLayout.getHeight() : 0)
+                + (detailLayout != null ? detailLayout.getHeight() : 0);
+    }
+
+    /**
+     * @return the title's layout, or in single layout mode the layout of all of the text
+     */
+    private StaticLayout getTitleLayout(int width) {
+        if (autoSize) {
+            if (singleLayout) {
+                return titleLayoutCache.get(fitCombinedText, fitTextPaint, fitPaintGeneration,
+                        width, Layout.Alignment.ALIGN_NORMAL);
+            }
+            return TextUtils.isEmpty(fitTitle) ? null : titleLayoutCache.get(fitTitle, fitTitlePaint,
+                    fitPaintGeneration, width, titleTextAlignment);
+        }
+        if (singleLayout) {
+            return titleLayoutCache.get(getCombinedText(), textPaint, textGeneration,
+                    width, Layout.Alignment.ALIGN_NORMAL);
+        }
+        return TextUtils.isEmpty(mTitle) ? null : titleLayoutCache.get(mTitle, titlePaint,
+                titlePaintGeneration, width, titleTextAlignment);
+    }
+
+    private StaticLayout getDetailLayout(int width) {
+        if (singleLayout) {
+            return null;
+        }
+        if (autoSize) {
+            return TextUtils.isEmpty(fitDetails) ? null : detailLayoutCache.get(fitDetails, fitTextPaint,
+                    fitPaintGeneration, width, detailTextAlignment);
+        }
+        return TextUtils.isEmpty(mDetails) ? null : detailLayoutCache.get(mDetails, textPaint,
+                textPaintGeneration, width, detailTextAlignment);
+    }
+
+    /**
+     * Lay the title and detail text out together, as one layout, rather than one after the other.
+     * This halves the layouts to build and measure, and the spacing between the title and detail
+     * text can be set exactly.
+     *
+     * @param titleDetailSpacing the space, in pixels, between the title and detail text
+     */
+    public void setSingleLayout(boolean singleLayout, int titleDetailSpacing) {
+        this.singleLayout = singleLayout;
+        this.titleDetailSpacing = titleDetailSpacing;
+        combinedText = null;
+        textGeneration++;
+    }
+
+    private CharSequence getCombinedText() {
+        if (combinedText == null) {
+            combinedText = CombinedText.build(mTitle, mDetails, titlePaint, titleTextAlignment,
+                    detailTextAlignment, titleDetailSpacing, DETAIL_SPACING_MULT);
+        }
+        return combinedText;
+    }
+
+    private static StaticLayout newCombinedLayout(CharSequence text, TextPaint paint, int width) {
+        // Alignment and spacing come from the text's spans
+        return new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_NORMAL, 1.0f, SPACING_ADD, true);
+    }
+
+    /**
+     * Sizes the text to the largest size between the minimum and maximum at which it fits the
+     * region it has been placed in. The title is scaled by as much as the detail text, and both
+     * are laid out at their fitted sizes.
+     *
+     * @param minTextSize the smallest size, in pixels, of the detail text
+     * @param maxTextSize the largest size, in pixels, of the detail text, or 0 for no larger
+     *                    than its text appearance
+     */
+    public void setAutoSize(boolean autoSize, float minTextSize, float maxTextSize) {
+        this.autoSize = autoSize;
+        this.minTextSize = minTextSize;
+        this.maxTextSize = maxTextSize;
+        textGeneration++;
+    }
+
+    /**
+     * @return the size of the detail text, or the title if there is no detail text, before it
+     * is auto-sized
+     */
+    private float getBaseTextSize() {
+        boolean useDetails = !TextUtils.isEmpty(mDetails) || TextUtils.isEmpty(mTitle);
+        return useDetails ? getBaseTextSize(mDetailSpan, textPaint) : getBaseTextSize(mTitleSpan, titlePaint);
+    }
+
+    private static float getBaseTextSize(TextAppearanceSpan span, TextPaint paint) {
+        // A text appearance's size wins over the paint's when drawing, so it does here too
+        if (span != null && span.getTextSize() > 0) {
+            return span.getTextSize();
+        }
+        return paint.getTextSize();
+    }
+
+    private float getMinimumTextSize() {
+        return Math.min(minTextSize, getMaximumTextSize(getBaseTextSize()));
+    }
+
+    private float getMaximumTextSize(float baseTextSize) {
+        return maxTextSize > 0 ? maxTextSize : baseTextSize;
+    }
+
+    /**
+     * Binary searches whole pixel text sizes for the largest at which the text fits, laying it
+     * out at each size tried. The heights either side of the answer are kept, so the search only
+     * runs again if the text or width change, or the available height crosses one of them.
+     *
+     * @return the size of the detail text, or the title if there is no detail text
+     */
+    private float findFitTextSize(int width, float availableHeight) {
+        if (fitTextGeneration == textGeneration && fitWidth == width
+                && availableHeight >= fitHeight && availableHeight < failHeight) {
+            return fitTextSize;
+        }
+
+        float baseTextSize = getBaseTextSize();
+        if (baseTextSize <= 0 || width <= 0) {
+            return baseTextSize;
+        }
+        int low = (int) Math.ceil(minTextSize);
+        int high = (int) getMaximumTextSize(baseTextSize);
+        if (high < low) {
+            high = low;
+        }
+        // If nothing fits, the smallest size is used whatever height is available
+        int best = low;
+        float bestHeight = Float.NEGATIVE_INFINITY;
+        float smallestFailHeight = Float.POSITIVE_INFINITY;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            applyTextSize(mid);
+            float height = measureTextHeight(width);
+            if (height <= availableHeight) {
+                best = mid;
+                bestHeight = height;
+                low = mid + 1;
+            } else {
+                smallestFailHeight = Math.min(smallestFailHeight, height);
+                high = mid - 1;
+            }
+        }
+
+        fitTextGeneration = textGeneration;
+        fitWidth = width;
+        fitTextSize = best;
+        fitHeight = bestHeight;
+        failHeight = smallestFailHeight;
+        return fitTextSize;
+    }
+
+    /**
+     * Sets the auto-sizing paints to the given size, scaling the title by as much as the detail
+     * text. The fitted copies of the text are rebuilt first if the text has changed.
+     */
+    private void applyTextSize(float textSize) {
+        if (fitSourceGeneration != textGeneration) {
+            fitTitle = withoutTextSize(mTitle, mTitleSpan);
+            fitDetails = withoutTextSize(mDetails, mDetailSpan);
+            fitSourceGeneration = textGeneration;
+        } else if (textSize == appliedTextSize) {
+            return;
+        }
+        float baseTextSize = getBaseTextSize();
+        float ratio = baseTextSize > 0 ? textSize / baseTextSize : 1f;
+        fitTitlePaint.set(titlePaint);
+        fitTitlePaint.setTextSize(getBaseTextSize(mTitleSpan, titlePaint) * ratio);
+        fitTextPaint.set(textPaint);
+        fitTextPaint.setTextSize(getBaseTextSize(mDetailSpan, textPaint) * ratio);
+        if (singleLayout) {
+            fitCombinedText = CombinedText.build(fitTitle, fitDetails, fitTitlePaint, titleTextAlignment,
+                    detailTextAlignment, titleDetailSpacing, DETAIL_SPACING_MULT);
+        }
+        appliedTextSize = textSize;
+        fitPaintGeneration++;
+    }
+
+    /**
+     * A copy of the text with its text appearance swapped for one which leaves the size to the
+     * paint. Always a new copy, so the layout caches never mistake it for the original.
+     */
+    private static CharSequence withoutTextSize(CharSequence text, TextAppearanceSpan span) {
+        if (text == null) {
+            return null;
+        }
+        SpannableString copy = new SpannableString(text);
+        if (span != null) {
+            copy.removeSpan(span);
+            copy.setSpan(new TextAppearanceSpan(span.getFamily(), span.getTextStyle(), 0,
+                    span.getTextColor(), span.getLinkTextColor()), 0, copy.length(), 0);
+        }
+        return copy;
     }
 
     public void setTitleStyling(int styleId) {
@@ -221,18 +581,28 @@ class TextDrawer {
 
     public void setContentPaint(TextPaint contentPaint) {
         textPaint.set(contentPaint);
+        textPaintGeneration++;
+        combinedText = null;
+        textGeneration++;
     }
 
     public void setTitlePaint(TextPaint textPaint) {
         titlePaint.set(textPaint);
+        titlePaintGeneration++;
+        combinedText = null;
+        textGeneration++;
     }
 
     public void setDetailTextAlignment(Layout.Alignment textAlignment) {
         this.detailTextAlignment = textAlignment;
+        combinedText = null;
+        textGeneration++;
     }
 
     public void setTitleTextAlignment(Layout.Alignment titleTextAlignment) {
         this.titleTextAlignment = titleTextAlignment;
+        combinedText = null;
+        textGeneration++;
     }
 
     public void forceTextPosition(int textPosition) {
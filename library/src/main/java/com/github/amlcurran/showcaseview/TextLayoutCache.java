@@ -0,0 +1,84 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+/**
+ * Holds on to the last few StaticLayouts built for a piece of text, and hands one back for as
+ * long as the text, paint, width and alignment stay the same. Moving the text, which happens on
+ * every frame of a target move, then doesn't lay it out again, and measuring the text at each
+ * width it could be placed at doesn't throw away the layout being drawn.
+ * <p/>
+ * The text is compared by identity, as TextDrawer replaces it rather than changing it. The
+ * paint is compared by a generation which the owner bumps whenever it changes the paint. Once
+ * full, the oldest layout is replaced.
+ */
+class TextLayoutCache {
+
+    // One for each region the text can be placed in
+    static final int SIZE = 4;
+
+    private final float spacingMultiplier;
+
+    private final CharSequence[] texts = new CharSequence[SIZE];
+    private final int[] paintGenerations = new int[SIZE];
+    private final int[] widths = new int[SIZE];
+    private final Layout.Alignment[] alignments = new Layout.Alignment[SIZE];
+    private final StaticLayout[] layouts = new StaticLayout[SIZE];
+    private int nextSlot;
+
+    TextLayoutCache(float spacingMultiplier) {
+        this.spacingMultiplier = spacingMultiplier;
+    }
+
+    StaticLayout get(CharSequence text, TextPaint paint, int paintGeneration, int width, Layout.Alignment alignment) {
+        int slot = indexOf(text, paintGeneration, width, alignment);
+        if (slot != -1) {
+            return layouts[slot];
+        }
+        StaticLayout layout = new StaticLayout(text, paint, width, alignment, spacingMultiplier,
+                TextDrawer.SPACING_ADD, true);
+        put(text, paintGeneration, width, alignment, layout);
+        return layout;
+    }
+
+    private int indexOf(CharSequence text, int paintGeneration, int width, Layout.Alignment alignment) {
+        for (int i = 0; i < SIZE; i++) {
+            if (layouts[i] != null && texts[i] == text && paintGenerations[i] == paintGeneration
+                    && widths[i] == width && alignments[i] == alignment) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void put(CharSequence text, int paintGeneration, int width, Layout.Alignment alignment, StaticLayout layout) {
+        int slot = indexOf(text, paintGeneration, width, alignment);
+        if (slot == -1) {
+            slot = nextSlot;
+            nextSlot = (nextSlot + 1) % SIZE;
+        }
+        texts[slot] = text;
+        paintGenerations[slot] = paintGeneration;
+        widths[slot] = width;
+        alignments[slot] = alignment;
+        layouts[slot] = layout;
+    }
+}
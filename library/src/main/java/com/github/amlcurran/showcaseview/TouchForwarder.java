@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * Sends one touch stream on to a showcased view. The view and the offset into its coordinates
+ * are fixed when the stream starts, so the events after ACTION_DOWN are just shifted and
+ * dispatched, with their batched history carried along. Nothing is allocated per event.
+ */
+class TouchForwarder {
+
+    private final int[] location = new int[2];
+    private View target;
+    private float offsetX;
+    private float offsetY;
+
+    /**
+     * Start forwarding a stream to the target, which must be laid out in the same window
+     * as the source
+     */
+    void start(View source, View target) {
+        this.target = target;
+        source.getLocationInWindow(location);
+        offsetX = location[0];
+        offsetY = location[1];
+        target.getLocationInWindow(location);
+        offsetX -= location[0];
+        offsetY -= location[1];
+    }
+
+    boolean isForwarding() {
+        return target != null;
+    }
+
+    /**
+     * Dispatch the event to the target, ending the stream on ACTION_UP or ACTION_CANCEL
+     */
+    boolean forward(MotionEvent event) {
+        if (target == null) {
+            return false;
+        }
+        View view = target;
+        int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            target = null;
+        }
+        // Shifted in place and back again, as ViewGroup does, rather than copying every event
+        event.offsetLocation(offsetX, offsetY);
+        boolean handled = view.dispatchTouchEvent(event);
+        event.offsetLocation(-offsetX, -offsetY);
+        return handled;
+    }
+
+    /**
+     * Cancel a stream in progress, so the target doesn't stay pressed
+     */
+    void cancel() {
+        if (target == null) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        MotionEvent cancel = MotionEvent.obtain(now, now, MotionEvent.ACTION_CANCEL, 0, 0, 0);
+        target.dispatchTouchEvent(cancel);
+        cancel.recycle();
+        target = null;
+    }
+
+}
@@ -16,19 +16,25 @@
 
 package com.github.amlcurran.showcaseview;
 
-import android.graphics.Point;
-import android.view.View;
+import android.graphics.Path;
 
 /**
- * Calculates various items for use with ShowcaseView
+ * A path which counts the times it has been rebuilt, so that anything derived from it can tell
+ * whether it's still current without comparing the paths themselves
  */
-class Calculator {
+class TrackedPath extends Path {
 
-    static Point getShowcasePointFromView(View view) {
-        Point result = new Point();
-        result.x = view.getLeft() + view.getWidth() / 2;
-        result.y = view.getTop() + view.getHeight() / 2;
-        return result;
+    private int generation;
+
+    /**
+     * Call after changing the path
+     */
+    void markChanged() {
+        generation++;
+    }
+
+    int getGeneration() {
+        return generation;
     }
 
 }
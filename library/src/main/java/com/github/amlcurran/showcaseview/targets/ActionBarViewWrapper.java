@@ -22,7 +22,9 @@ import android.view.ViewParent;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Class which wraps round the many implementations of ActionBarView and allows finding of Action
@@ -30,6 +32,9 @@ import java.util.List;
  */
 class ActionBarViewWrapper {
 
+    // Accessible fields, looked up once per class for the whole process
+    private static final Map<Class, Map<String, Field>> fields = new HashMap<>();
+
     private ViewParent mActionBarView;
     private Class mActionBarViewClass;
     private Class mAbsActionBarViewClass;
@@ -54,8 +59,7 @@ class ActionBarViewWrapper {
      */
     public View getSpinnerView() {
         try {
-            Field spinnerField = mActionBarViewClass.getDeclaredField("mSpinner");
-            spinnerField.setAccessible(true);
+            Field spinnerField = getField(mActionBarViewClass, "mSpinner");
             return (View) spinnerField.get(mActionBarView);
         } catch (NoSuchFieldException e) {
             Log.e("TAG", "Failed to find actionbar spinner", e);
@@ -70,8 +74,7 @@ class ActionBarViewWrapper {
      */
     public View getTitleView() {
         try {
-            Field mTitleViewField = mActionBarViewClass.getDeclaredField("mTitleView");
-            mTitleViewField.setAccessible(true);
+            Field mTitleViewField = getField(mActionBarViewClass, "mTitleView");
             return (View) mTitleViewField.get(mActionBarView);
         } catch (NoSuchFieldException e) {
             Log.e("TAG", "Failed to find actionbar title", e);
@@ -86,11 +89,9 @@ class ActionBarViewWrapper {
      */
     public View getOverflowView() {
         try {
-            Field actionMenuPresenterField = mAbsActionBarViewClass.getDeclaredField("mActionMenuPresenter");
-            actionMenuPresenterField.setAccessible(true);
+            Field actionMenuPresenterField = getField(mAbsActionBarViewClass, "mActionMenuPresenter");
             Object actionMenuPresenter = actionMenuPresenterField.get(mActionBarView);
-            Field overflowButtonField = actionMenuPresenter.getClass().getDeclaredField("mOverflowButton");
-            overflowButtonField.setAccessible(true);
+            Field overflowButtonField = getField(actionMenuPresenter.getClass(), "mOverflowButton");
             return (View) overflowButtonField.get(actionMenuPresenter);
         } catch (IllegalAccessException e) {
             e.printStackTrace();
@@ -106,13 +107,10 @@ class ActionBarViewWrapper {
      */
     public View getMediaRouterButtonView() {
         try {
-            Field actionMenuPresenterField =
-                    mActionBarViewClass.getDeclaredField("mOptionsMenu");
-            actionMenuPresenterField.setAccessible(true);
+            Field actionMenuPresenterField = getField(mActionBarViewClass, "mOptionsMenu");
             Object optionsMenu = actionMenuPresenterField.get(mActionBarView);
 
-            Field actionItemsField = optionsMenu.getClass().getDeclaredField("mActionItems");
-            actionItemsField.setAccessible(true);
+            Field actionItemsField = getField(optionsMenu.getClass(), "mActionItems");
 
             List actionItems = (ArrayList) actionItemsField.get(optionsMenu);
             if (null != actionItems) {
@@ -136,8 +134,7 @@ class ActionBarViewWrapper {
     
     private Object getMediaRouteButton(Object obj) {
         try {
-            Field f = obj.getClass().getDeclaredField("mActionView");
-            f.setAccessible(true);
+            Field f = getField(obj.getClass(), "mActionView");
             Object view = f.get(obj);
             if("android.support.v7.app.MediaRouteButton".equals(view.getClass().getName())) {
                 return view;
@@ -150,30 +147,44 @@ class ActionBarViewWrapper {
         return null;
     }
 
+    /**
+     * Find a field declared by the class, made accessible, from the cache if it has been found before
+     */
+    private static synchronized Field getField(Class declaringClass, String name) throws NoSuchFieldException {
+        Map<String, Field> classFields = fields.get(declaringClass);
+        if (classFields == null) {
+            classFields = new HashMap<>();
+            fields.put(declaringClass, classFields);
+        }
+        Field field = classFields.get(name);
+        if (field == null) {
+            field = declaringClass.getDeclaredField(name);
+            field.setAccessible(true);
+            classFields.put(name, field);
+        }
+        return field;
+    }
+
     public View getActionItem(int actionItemId) {
         try {
-            Field actionMenuPresenterField = mAbsActionBarViewClass.getDeclaredField("mActionMenuPresenter");
-            actionMenuPresenterField.setAccessible(true);
+            Field actionMenuPresenterField = getField(mAbsActionBarViewClass, "mActionMenuPresenter");
             Object actionMenuPresenter = actionMenuPresenterField.get(mActionBarView);
 
-            Field menuViewField = actionMenuPresenter.getClass().getSuperclass().getDeclaredField("mMenuView");
-            menuViewField.setAccessible(true);
+            Field menuViewField = getField(actionMenuPresenter.getClass().getSuperclass(), "mMenuView");
             Object menuView = menuViewField.get(actionMenuPresenter);
 
             Field mChField;
             if (menuView.getClass().toString().contains("com.actionbarsherlock")) {
                 // There are thousands of superclasses to traverse up
                 // Have to get superclasses because mChildren is private
-                mChField = menuView.getClass().getSuperclass().getSuperclass()
-                        .getSuperclass().getSuperclass().getDeclaredField("mChildren");
+                mChField = getField(menuView.getClass().getSuperclass().getSuperclass()
+                        .getSuperclass().getSuperclass(), "mChildren");
             } else if (menuView.getClass().toString().contains("android.support.v7")) {
-                mChField = menuView.getClass().getSuperclass().getSuperclass()
-                        .getSuperclass().getDeclaredField("mChildren");
+                mChField = getField(menuView.getClass().getSuperclass().getSuperclass()
+                        .getSuperclass(), "mChildren");
             } else {
-                mChField = menuView.getClass().getSuperclass().getSuperclass()
-                        .getDeclaredField("mChildren");
+                mChField = getField(menuView.getClass().getSuperclass().getSuperclass(), "mChildren");
             }
-            mChField.setAccessible(true);
             Object[] mChs = (Object[]) mChField.get(menuView);
             for (Object mCh : mChs) {
                 if (mCh != null) {
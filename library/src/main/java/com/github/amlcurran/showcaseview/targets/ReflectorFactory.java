@@ -18,11 +18,17 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Base class which uses reflection to determine how to showcase Action Items and Action Views.
  */
 class ReflectorFactory {
 
+    // The type found for each Activity class, as walking the hierarchy is repeated on every lookup
+    private static final Map<Class, Reflector.ActionBarType> actionBarTypes = new HashMap<>();
+
     public static Reflector getReflectorForActivity(Activity activity) {
         switch (searchForActivitySuperClass(activity)) {
             case STANDARD:
@@ -35,8 +41,18 @@ class ReflectorFactory {
         return null;
     }
 
-    private static Reflector.ActionBarType searchForActivitySuperClass(Activity activity) {
-        Class currentLevel = activity.getClass();
+    private static synchronized Reflector.ActionBarType searchForActivitySuperClass(Activity activity) {
+        Class activityClass = activity.getClass();
+        Reflector.ActionBarType type = actionBarTypes.get(activityClass);
+        if (type == null) {
+            type = searchForActionBarType(activityClass);
+            actionBarTypes.put(activityClass, type);
+        }
+        return type;
+    }
+
+    private static Reflector.ActionBarType searchForActionBarType(Class activityClass) {
+        Class currentLevel = activityClass;
         while (currentLevel != Activity.class) {
             if (currentLevel.getSimpleName().equals("SherlockActivity") || currentLevel.getSimpleName().equals("SherlockFragmentActivity")) {
                 return Reflector.ActionBarType.ACTIONBAR_SHERLOCK;
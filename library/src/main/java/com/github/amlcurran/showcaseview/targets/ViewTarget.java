@@ -18,12 +18,15 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 import android.graphics.Point;
+import android.graphics.Rect;
 import android.view.View;
 
+import com.github.amlcurran.showcaseview.geometry.Calculator;
+
 /**
  * Target a view on the screen. This will centre the target on the view.
  */
-public class ViewTarget implements Target {
+public class ViewTarget implements BoundedTarget {
 
     private final View mView;
 
@@ -35,12 +38,23 @@ public class ViewTarget implements Target {
         mView = activity.findViewById(viewId);
     }
 
+    public View getView() {
+        return mView;
+    }
+
     @Override
     public Point getPoint() {
         int[] location = new int[2];
         mView.getLocationInWindow(location);
-        int x = location[0] + mView.getWidth() / 2;
-        int y = location[1] + mView.getHeight() / 2;
-        return new Point(x, y);
+        Calculator.getShowcasePoint(location[0], location[1], mView.getWidth(), mView.getHeight(), location);
+        return new Point(location[Calculator.INDEX_X], location[Calculator.INDEX_Y]);
+    }
+
+    @Override
+    public Rect getBounds() {
+        int[] location = new int[2];
+        mView.getLocationInWindow(location);
+        return new Rect(location[0], location[1],
+                location[0] + mView.getWidth(), location[1] + mView.getHeight());
     }
 }
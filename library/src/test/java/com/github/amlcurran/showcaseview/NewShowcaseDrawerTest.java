@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class NewShowcaseDrawerTest {
+
+    @Test
+    public void backgroundColourTintsTheMaskOpaquely() {
+        NewShowcaseDrawer drawer = new NewShowcaseDrawer(RuntimeEnvironment.application.getResources());
+
+        drawer.setBackgroundColour(0x80336699);
+
+        // The mask supplies the alpha, so the tint is the background colour made opaque
+        assertEquals(0xFF336699, drawer.getMaskTint());
+    }
+
+}
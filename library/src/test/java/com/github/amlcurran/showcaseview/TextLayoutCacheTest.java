@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TextLayoutCacheTest {
+
+    private static final Layout.Alignment ALIGNMENT = Layout.Alignment.ALIGN_NORMAL;
+
+    private final TextLayoutCache cache = new TextLayoutCache(1.0f);
+    private final TextPaint paint = new TextPaint();
+    private final CharSequence text = "Showcase text";
+
+    @Test
+    public void measuringAnotherWidthKeepsTheLayoutBeingDrawn() {
+        StaticLayout drawn = cache.get(text, paint, 0, 100, ALIGNMENT);
+
+        cache.get(text, paint, 0, 200, ALIGNMENT);
+
+        assertSame(drawn, cache.get(text, paint, 0, 100, ALIGNMENT));
+    }
+
+    @Test
+    public void oldestLayoutIsReplacedOnceFull() {
+        StaticLayout oldest = cache.get(text, paint, 0, 100, ALIGNMENT);
+
+        for (int i = 1; i <= TextLayoutCache.SIZE; i++) {
+            cache.get(text, paint, 0, 100 + i, ALIGNMENT);
+        }
+
+        assertNotSame(oldest, cache.get(text, paint, 0, 100, ALIGNMENT));
+    }
+
+    @Test
+    public void changedPaintIsLaidOutAgain() {
+        StaticLayout layout = cache.get(text, paint, 0, 100, ALIGNMENT);
+
+        assertNotSame(layout, cache.get(text, paint, 1, 100, ALIGNMENT));
+    }
+
+}